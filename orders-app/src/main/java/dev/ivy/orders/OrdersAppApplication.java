@@ -2,8 +2,10 @@ package dev.ivy.orders;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class OrdersAppApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,123 @@
+package dev.ivy.orders.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out at most {@code permits} connections of the target pool at a time. Callers
+ * beyond that park on a fair semaphore, which is cheap for virtual threads, instead of
+ * piling into the pool's own handoff queue; after {@code timeout} they get a
+ * {@link SQLTransientConnectionException}. The permit is returned when the connection is
+ * closed, i.e. handed back to the pool.
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int size;
+    private final Duration timeout;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public ConnectionPermitDataSource(DataSource target, int permits, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.size = permits;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return releasingOnClose(obtainTargetDataSource()::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return releasingOnClose(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                timedOut.increment();
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + timeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        waitNanos.add(System.nanoTime() - start);
+        acquired.increment();
+    }
+
+    private Connection releasingOnClose(TargetConnection target) throws SQLException {
+        Connection connection;
+        try {
+            connection = target.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        // Release exactly once, even if the caller closes the connection twice
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTargetConnection":
+                            return connection;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    public Map<String, Object> stats() {
+        long count = acquired.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("permits", size);
+        stats.put("available", permits.availablePermits());
+        stats.put("waiting", permits.getQueueLength());
+        stats.put("acquired", count);
+        stats.put("timedOut", timedOut.sum());
+        stats.put("averageWaitMillis", count == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface TargetConnection {
+        Connection get() throws SQLException;
+    }
+}
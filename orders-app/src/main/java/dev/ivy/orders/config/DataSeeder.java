@@ -6,7 +6,9 @@ import dev.ivy.orders.entity.Order;
 import dev.ivy.orders.repository.UserRepository;
 import dev.ivy.orders.repository.ClientRepository;
 import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.DataGeneratorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -31,13 +33,28 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private DataGeneratorService dataGenerator;
+
+    // Above zero, generated clients and orders replace the hand-written sample below
+    @Value("${orders.seed.clients:0}")
+    private int generatedClients;
+
+    @Value("${orders.seed.orders:0}")
+    private long generatedOrders;
+
     @Override
     public void run(String... args) throws Exception {
         // Only seed if database is empty
         if (userRepository.count() == 0 && clientRepository.count() == 0) {
             seedUsers();
-            seedClients();
-            seedOrders();
+            if (generatedClients > 0) {
+                DataGeneratorService.Result result = dataGenerator.generate(generatedClients, generatedOrders);
+                System.out.println("🏭 Generated " + result.clients() + " clients and " + result.orders() + " orders in " + result.millis() + " ms");
+            } else {
+                seedClients();
+                seedOrders();
+            }
             System.out.println("✅ Database seeded successfully!");
         } else {
             System.out.println("ℹ️  Database already contains data, skipping seeding.");
@@ -0,0 +1,41 @@
+package dev.ivy.orders.config;
+
+import dev.ivy.orders.jfr.ControllerEventInterceptor;
+import dev.ivy.orders.jfr.RepositoryEventInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Custom JFR events for the order pipeline: one per order, client and auth request, one per
+ * repository call and one per BCrypt verification (see {@code SecurityConfig}). They cost
+ * next to nothing while no recording is running; {@code FlightRecorderService} runs one.
+ */
+@Configuration
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerEventInterceptor())
+                .addPathPatterns("/api/orders/**", "/api/clients/**", "/api/auth/**");
+    }
+
+    // Static so it is registered before the repositories; customizers must be added before the factory bean initializes
+    @Bean
+    static BeanPostProcessor repositoryEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(
+                                    new RepositoryEventInterceptor(repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
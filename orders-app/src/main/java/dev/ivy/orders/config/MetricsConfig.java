@@ -0,0 +1,63 @@
+package dev.ivy.orders.config;
+
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.CustomUserDetailsService;
+import dev.ivy.orders.service.PasswordHashingService;
+import dev.ivy.orders.service.PinnedThreadMonitor;
+import dev.ivy.orders.service.ResponseCacheService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the services' {@code stats()} maps as gauges, next to what Boot binds on its
+ * own (http.server.requests, hibernate.*, hikaricp.*, jvm.*), so the numbers the stats
+ * endpoints show are scraped from /actuator/prometheus too. Every numeric entry becomes
+ * {@code <prefix>.<key>}, e.g. {@code orders.auth.hashing.queued}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder serviceStatsMetrics(PasswordHashingService passwordHashing, ResponseCacheService responseCache,
+                                           ClientService clientService, CustomUserDetailsService userDetailsService,
+                                           DataSource dataSource, ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor) {
+        return registry -> {
+            bind(registry, "orders.auth.hashing", Tags.empty(), passwordHashing::stats);
+            bind(registry, "orders.response.cache", Tags.empty(), responseCache::stats);
+            bind(registry, "orders.cache.users", Tags.empty(), userDetailsService::cacheStats);
+            for (String cache : clientService.cacheStats().keySet()) {
+                bind(registry, "orders.cache.clients", Tags.of("cache", cache), () -> clientService.cacheStats().get(cache));
+            }
+            // Only with virtual threads: the permits in front of the pool and carrier pinning
+            if (dataSource instanceof ConnectionPermitDataSource permits) {
+                bind(registry, "orders.datasource.permits", Tags.empty(), permits::stats);
+            }
+            pinnedThreadMonitor.ifAvailable(monitor -> bind(registry, "orders.threads.pinned", Tags.empty(), monitor::stats));
+        };
+    }
+
+    // Keys are taken from one snapshot; each gauge reads its entry from a fresh one on scrape
+    private static void bind(MeterRegistry registry, String prefix, Tags tags, Supplier<Map<String, Object>> stats) {
+        stats.get().forEach((key, value) -> {
+            if (value instanceof Number) {
+                Gauge.builder(prefix + "." + dotted(key), stats, current -> ((Number) current.get().get(key)).doubleValue())
+                        .tags(tags)
+                        .register(registry);
+            }
+        });
+    }
+
+    // averageWaitMillis → average.wait.millis, the Micrometer naming convention
+    private static String dotted(String key) {
+        return key.replaceAll("([a-z0-9])([A-Z])", "$1.$2").toLowerCase();
+    }
+}
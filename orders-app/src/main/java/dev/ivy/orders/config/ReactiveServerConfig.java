@@ -0,0 +1,127 @@
+package dev.ivy.orders.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ivy.orders.controller.ReactiveClientHandler;
+import dev.ivy.orders.controller.ReactiveOrderHandler;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Read-only WebFlux variant of the orders and clients GETs on its own Reactor Netty port
+ * ({@code orders.reactive.port}), next to the servlet API and reading the same tables over
+ * R2DBC. Off unless {@code orders.reactive.enabled=true}.
+ * <p>
+ * The server is started here rather than by Boot so the application stays a servlet one.
+ * Spring Security's servlet filter chain therefore does not apply; every route mirrors a
+ * GET that is {@code permitAll} there.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    // Not a bean: a ConnectionFactory bean would make Boot back off from the JDBC DataSource
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(@Value("${orders.reactive.r2dbc.url}") String url,
+                                         @Value("${orders.reactive.r2dbc.username:}") String username,
+                                         @Value("${orders.reactive.r2dbc.password:}") String password,
+                                         @Value("${orders.reactive.r2dbc.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Bean
+    public ReactiveServer reactiveServer(@Value("${orders.reactive.port:8081}") int port,
+                                         @Value("${server.compression.min-response-size:2KB}") DataSize compressionMinSize,
+                                         ReactiveOrderHandler orders, ReactiveClientHandler clients, ObjectMapper objectMapper) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/api/orders/stream", orders::streamOrders)
+                .GET("/api/orders/{id}", orders::getOrderById)
+                .GET("/api/orders", orders::getOrders)
+                .GET("/api/clients/{id}", clients::getClientById)
+                .GET("/api/clients", clients::getAllClients)
+                .build();
+        // The application's ObjectMapper, so bodies match the servlet API byte for byte
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpServer server = HttpServer.create()
+                .port(port)
+                .compress((int) compressionMinSize.toBytes())
+                // reactor.netty.http.server.* in the global registry, ids folded so the uri tag stays bounded
+                .metrics(true, uri -> uri.replaceFirst("\\?.*", "").replaceAll("/\\d+", "/{id}"))
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies)));
+        return new ReactiveServer(server);
+    }
+
+    /**
+     * Binds once the context is refreshed and shuts down with it.
+     */
+    public static class ReactiveServer implements SmartLifecycle {
+
+        private final HttpServer server;
+
+        private volatile DisposableServer running;
+
+        ReactiveServer(HttpServer server) {
+            this.server = server;
+        }
+
+        @Override
+        public void start() {
+            running = server.bindNow();
+        }
+
+        @Override
+        public void stop() {
+            running.disposeNow();
+            running = null;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running != null;
+        }
+
+        // The bound port, which differs from the configured one when that is 0
+        public int getPort() {
+            return running.port();
+        }
+    }
+}
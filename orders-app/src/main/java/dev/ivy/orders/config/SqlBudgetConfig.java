@@ -0,0 +1,58 @@
+package dev.ivy.orders.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Per-request SQL accounting (on unless {@code orders.sql.tracking.enabled=false}): the data
+ * source is wrapped in {@link StatementCountingDataSource} and every request goes through
+ * {@link SqlBudgetFilter}, ahead of Spring Security so token and user lookups count too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    // Static so it is registered before the DataSource bean is created; ordered so the
+    // counting wrapper sits inside ConnectionPermitDataSource, which MetricsConfig looks for
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new StatementCountingPostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(
+            @Value("${orders.sql.headers:true}") boolean headers,
+            @Value("${orders.sql.budget.statements:10}") int maxStatements,
+            @Value("${orders.sql.budget.repeats:5}") int maxRepeats,
+            @Value("${orders.sql.budget.db-time:500ms}") Duration maxDbTime) {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(headers, maxStatements, maxRepeats, maxDbTime));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static class StatementCountingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof StatementCountingDataSource
+                    || bean instanceof ConnectionPermitDataSource) {
+                return bean;
+            }
+            return new StatementCountingDataSource(dataSource);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.ivy.orders.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Opens a {@link SqlRequestStats} for each request and reports it: as {@code X-Sql-Statements},
+ * {@code X-Sql-Rows} and {@code Server-Timing: db;dur=} headers (set when the response is
+ * committed, so they cover everything up to the first byte of the body), at DEBUG for every
+ * request, and at WARN with the repeated statement shapes when a request goes over budget.
+ * <p>
+ * Only the request thread is counted. Async exports and logins do their database work
+ * elsewhere and are reported without headers.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+    private static final int SHAPE_LOG_LENGTH = 300;
+
+    private final boolean headers;
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final Duration maxDbTime;
+
+    public SqlBudgetFilter(boolean headers, int maxStatements, int maxRepeats, Duration maxDbTime) {
+        this.headers = headers;
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.maxDbTime = maxDbTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        HttpServletResponse tracked = headers ? new HeaderWritingResponse(request, response, stats) : response;
+        try {
+            chain.doFilter(request, tracked);
+        } finally {
+            SqlRequestStats.stop();
+            if (headers && !response.isCommitted() && !request.isAsyncStarted()) {
+                writeHeaders(response, stats);
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        if (stats.statements() == 0) {
+            return;
+        }
+        String summary = String.format(Locale.ROOT, "%s %s: %d statements, %d rows, %.1f ms",
+                request.getMethod(), request.getRequestURI(), stats.statements(), stats.rows(), stats.millis());
+        List<Map.Entry<String, Integer>> repeated = stats.repeated(maxRepeats);
+        boolean overBudget = stats.statements() > maxStatements || !repeated.isEmpty()
+                || stats.millis() > maxDbTime.toMillis();
+        if (!overBudget) {
+            log.debug(summary);
+            return;
+        }
+        String shapes = repeated.stream()
+                .map(entry -> entry.getValue() + "x " + abbreviate(entry.getKey()))
+                .collect(Collectors.joining("; "));
+        log.warn("SQL budget exceeded by {} (budget {} statements, {} repeats of one shape, {} ms){}",
+                summary, maxStatements, maxRepeats, maxDbTime.toMillis(), shapes.isEmpty() ? "" : "; repeated: " + shapes);
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlRequestStats stats) {
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.statements()));
+        response.setHeader(ROWS_HEADER, Long.toString(stats.rows()));
+        response.addHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.2f", stats.millis()));
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() <= SHAPE_LOG_LENGTH ? shape : shape.substring(0, SHAPE_LOG_LENGTH) + "...";
+    }
+
+    // Headers can no longer be added once the body starts going out
+    private static class HeaderWritingResponse extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final SqlRequestStats stats;
+
+        HeaderWritingResponse(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (!request.isAsyncStarted()) {
+                writeHeaders((HttpServletResponse) getResponse(), stats);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package dev.ivy.orders.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements, rows and database time of the HTTP request on the current thread, filled
+ * in by {@link StatementCountingDataSource} while {@link SqlBudgetFilter} has one open.
+ * Statements are also counted by shape (literals and IN-list lengths folded away), which is
+ * what gives an N+1 away: the same select over and over with a different id.
+ */
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    public static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // Null outside a tracked request (startup, scheduled jobs, async threads)
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql != null) {
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    void rows(long count, long elapsedNanos) {
+        rows += count;
+        nanos += elapsedNanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public double millis() {
+        return nanos / 1_000_000.0;
+    }
+
+    // Shapes executed more than maxRepeats times, most repeated first
+    public List<Map.Entry<String, Integer>> repeated(int maxRepeats) {
+        return shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() > maxRepeats)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .toList();
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)").trim();
+    }
+}
@@ -0,0 +1,131 @@
+package dev.ivy.orders.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Counts the statements, fetched rows and time spent in the driver for the request open
+ * on the calling thread (see {@link SqlRequestStats}). Statements created while no request
+ * is tracked are handed out unwrapped, so the seeder, exports and scheduled jobs only pay
+ * for the connection proxy.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> CREATE_STATEMENT = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTargetConnection":
+                            return connection;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (CREATE_STATEMENT.contains(method.getName()) && SqlRequestStats.current() != null) {
+                        // createStatement has no SQL yet; its execute(sql) calls carry it
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return counting((Statement) result, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object counting(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    SqlRequestStats stats = SqlRequestStats.current();
+                    if (stats == null) {
+                        return invoke(statement, method, args);
+                    }
+                    if (EXECUTE.contains(method.getName())) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                        long start = System.nanoTime();
+                        Object result = invoke(statement, method, args);
+                        stats.statement(sql, System.nanoTime() - start);
+                        // Affected rows of a write; a query's rows are counted as they are fetched
+                        if (result instanceof Number updated && updated.longValue() > 0) {
+                            stats.rows(updated.longValue(), 0);
+                        } else if (result instanceof int[] batch) {
+                            stats.rows(Arrays.stream(batch).filter(count -> count > 0).asLongStream().sum(), 0);
+                        }
+                        return result instanceof ResultSet resultSet ? counting(resultSet) : result;
+                    }
+                    Object result = invoke(statement, method, args);
+                    return method.getName().equals("getResultSet") && result instanceof ResultSet resultSet
+                            ? counting(resultSet) : result;
+                });
+    }
+
+    private static ResultSet counting(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    SqlRequestStats stats = SqlRequestStats.current();
+                    if (stats == null || !method.getName().equals("next")) {
+                        return invoke(resultSet, method, args);
+                    }
+                    long start = System.nanoTime();
+                    Object result = invoke(resultSet, method, args);
+                    stats.rows(Boolean.TRUE.equals(result) ? 1 : 0, System.nanoTime() - start);
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.ivy.orders.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}, where Boot runs Tomcat requests,
+ * async exports and scheduled jobs on virtual threads. There is no longer a worker pool
+ * capping concurrency, so the data source is put behind {@link ConnectionPermitDataSource}
+ * to keep thousands of requests from stampeding the connection pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    // Static so it is registered before the DataSource bean is created
+    @Bean
+    static BeanPostProcessor connectionPermitPostProcessor(@Value("${orders.datasource.permits:0}") int permits,
+                                                           @Value("${orders.datasource.permit-timeout:30s}") Duration timeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionPermitDataSource) {
+                    return bean;
+                }
+                // One permit per pooled connection: nobody ever waits inside the pool itself
+                HikariConfigMXBean hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+                int size = permits > 0 ? permits : hikari != null ? hikari.getMaximumPoolSize() : 10;
+                return new ConnectionPermitDataSource(dataSource, size, timeout);
+            }
+        };
+    }
+}
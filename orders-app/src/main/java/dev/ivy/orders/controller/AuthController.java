@@ -1,19 +1,32 @@
 package dev.ivy.orders.controller;
 
+import dev.ivy.orders.dto.ApiResponse;
+import dev.ivy.orders.dto.AuthResponse;
+import dev.ivy.orders.dto.MessageResponse;
+import dev.ivy.orders.dto.StatsResponse;
+import dev.ivy.orders.dto.UserListResponse;
+import dev.ivy.orders.dto.UserView;
 import dev.ivy.orders.entity.User;
 import dev.ivy.orders.repository.UserRepository;
+import dev.ivy.orders.service.CustomUserDetailsService;
+import dev.ivy.orders.service.PasswordHashingService;
+import dev.ivy.orders.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -28,186 +41,211 @@ public class AuthController {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private TokenService tokenService;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest) {
-        Map<String, Object> response = new HashMap<>();
+    public CompletableFuture<ResponseEntity<ApiResponse>> login(@RequestBody Map<String, String> loginRequest) {
+        String username = loginRequest.get("username");
+        String password = loginRequest.get("password");
+        
+        if (username == null || password == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(MessageResponse.error("Username and password are required")));
+        }
         
         try {
-            String username = loginRequest.get("username");
-            String password = loginRequest.get("password");
-            
-            if (username == null || password == null) {
-                response.put("success", false);
-                response.put("message", "Username and password are required");
-                return ResponseEntity.badRequest().body(response);
-            }
-            
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
+            // Authenticate user (BCrypt verification) on the hashing pool, off the request thread
+            return passwordHashingService.submit(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(username, password)
-            );
+            )).<ResponseEntity<ApiResponse>>handle((authentication, failure) -> {
+                if (failure != null) {
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    if (cause instanceof AuthenticationException) {
+                        return ResponseEntity.status(401).body(MessageResponse.error("Invalid username or password"));
+                    }
+                    return ResponseEntity.status(500).body(MessageResponse.error("Login failed: " + cause.getMessage()));
+                }
+                
+                // Get user details
+                Optional<User> userOpt = userDetailsService.findUser(authentication.getName());
+                if (userOpt.isPresent()) {
+                    User user = userOpt.get();
+                    TokenService.IssuedToken token = tokenService.issue(user.getUsername(), user.getRole());
+                    
+                    return ResponseEntity.ok(new AuthResponse(true, "Login successful",
+                            token.token(), token.expiresAt(), UserView.of(user)));
+                } else {
+                    return ResponseEntity.status(401).body(MessageResponse.error("User not found"));
+                }
+            });
             
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
+    }
+
+    // Re-reads the user for a new token: the role in a token is fixed until it is refreshed or expires
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse> refresh() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             
-            // Get user details
-            Optional<User> userOpt = userRepository.findByUsername(username);
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                
-                response.put("success", true);
-                response.put("message", "Login successful");
-                response.put("user", Map.of(
-                    "id", user.getId(),
-                    "username", user.getUsername(),
-                    "role", user.getRole(),
-                    "createdAt", user.getCreatedAt()
-                ));
+            if (authentication != null && authentication.isAuthenticated() && 
+                !authentication.getName().equals("anonymousUser")) {
                 
-                return ResponseEntity.ok(response);
-            } else {
-                response.put("success", false);
-                response.put("message", "User not found");
-                return ResponseEntity.status(401).body(response);
+                Optional<User> userOpt = userDetailsService.findUser(authentication.getName());
+                if (userOpt.isPresent()) {
+                    User user = userOpt.get();
+                    TokenService.IssuedToken token = tokenService.issue(user.getUsername(), user.getRole());
+                    
+                    return ResponseEntity.ok(new AuthResponse(true, "Token refreshed",
+                            token.token(), token.expiresAt(), UserView.of(user)));
+                }
             }
             
+            return ResponseEntity.status(401).body(MessageResponse.error("Not authenticated"));
+            
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Invalid username or password");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Token refresh failed: " + e.getMessage()));
         }
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, Object>> logout() {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> logout() {
         try {
+            // Tokens are stateless: the client discards its token, which expires on its own
             SecurityContextHolder.clearContext();
-            response.put("success", true);
-            response.put("message", "Logout successful");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(MessageResponse.ok("Logout successful"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Logout failed: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Logout failed: " + e.getMessage()));
         }
     }
 
     @GetMapping("/me")
-    public ResponseEntity<Map<String, Object>> getCurrentUser() {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> getCurrentUser() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             
             if (authentication != null && authentication.isAuthenticated() && 
                 !authentication.getName().equals("anonymousUser")) {
                 
-                Optional<User> userOpt = userRepository.findByUsername(authentication.getName());
+                Optional<User> userOpt = userDetailsService.findUser(authentication.getName());
                 if (userOpt.isPresent()) {
                     User user = userOpt.get();
                     
-                    response.put("success", true);
-                    response.put("user", Map.of(
-                        "id", user.getId(),
-                        "username", user.getUsername(),
-                        "role", user.getRole(),
-                        "createdAt", user.getCreatedAt()
-                    ));
-                    
-                    return ResponseEntity.ok(response);
+                    return ResponseEntity.ok(AuthResponse.of(null, UserView.of(user)));
                 }
             }
             
-            response.put("success", false);
-            response.put("message", "Not authenticated");
-            return ResponseEntity.status(401).body(response);
+            return ResponseEntity.status(401).body(MessageResponse.error("Not authenticated"));
             
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error getting user info: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Error getting user info: " + e.getMessage()));
         }
     }
 
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> register(@RequestBody Map<String, String> registerRequest) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public CompletableFuture<ResponseEntity<ApiResponse>> register(@RequestBody Map<String, String> registerRequest) {
         try {
             String username = registerRequest.get("username");
             String password = registerRequest.get("password");
-            String role = registerRequest.getOrDefault("role", "USER");
             
             if (username == null || password == null) {
-                response.put("success", false);
-                response.put("message", "Username and password are required");
-                return ResponseEntity.badRequest().body(response);
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                        .body(MessageResponse.error("Username and password are required")));
             }
             
             // Check if user already exists
             if (userRepository.existsByUsername(username)) {
-                response.put("success", false);
-                response.put("message", "Username already exists");
-                return ResponseEntity.badRequest().body(response);
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                        .body(MessageResponse.error("Username already exists")));
             }
             
-            // Create new user
-            User newUser = new User(username, passwordEncoder.encode(password), role);
-            User savedUser = userRepository.save(newUser);
+            // Hash on the hashing pool, then create the new user
+            return passwordHashingService.submit(() -> passwordEncoder.encode(password))
+                .<ResponseEntity<ApiResponse>>thenApply(passwordHash -> {
+                    // Self-registration always creates a USER; other roles are granted by an admin
+                    User savedUser = userRepository.save(new User(username, passwordHash, "USER"));
+                    userDetailsService.evict(username);
+                    
+                    return ResponseEntity.ok(AuthResponse.of("User registered successfully", UserView.of(savedUser)));
+                })
+                .exceptionally(failure -> ResponseEntity.status(500)
+                        .body(MessageResponse.error("Registration failed: " + failure.getCause().getMessage())));
             
-            response.put("success", true);
-            response.put("message", "User registered successfully");
-            response.put("user", Map.of(
-                "id", savedUser.getId(),
-                "username", savedUser.getUsername(),
-                "role", savedUser.getRole(),
-                "createdAt", savedUser.getCreatedAt()
-            ));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(tooManyRequests());
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(500)
+                    .body(MessageResponse.error("Registration failed: " + e.getMessage())));
+        }
+    }
+
+    // Admin only (SecurityConfig)
+    @GetMapping("/users")
+    public ResponseEntity<ApiResponse> getAllUsers() {
+        try {
+            var users = userRepository.findAll().stream()
+                .map(UserView::of)
+                .toList();
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new UserListResponse(true, users));
             
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Registration failed: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Error getting users: " + e.getMessage()));
         }
     }
 
-    @GetMapping("/users")
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
-        Map<String, Object> response = new HashMap<>();
-        
+    // Admin only (SecurityConfig)
+    @PutMapping("/users/{username}/role")
+    public ResponseEntity<ApiResponse> updateUserRole(@PathVariable String username,
+                                                              @RequestBody Map<String, String> roleRequest) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String role = roleRequest.get("role");
+            if (role == null || role.isBlank()) {
+                return ResponseEntity.badRequest().body(MessageResponse.error("Role is required"));
+            }
             
-            // Check if user is admin
-            if (authentication != null && authentication.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                
-                var users = userRepository.findAll().stream()
-                    .map(user -> Map.of(
-                        "id", user.getId(),
-                        "username", user.getUsername(),
-                        "role", user.getRole(),
-                        "createdAt", user.getCreatedAt()
-                    ))
-                    .toList();
-                
-                response.put("success", true);
-                response.put("users", users);
-                return ResponseEntity.ok(response);
-            } else {
-                response.put("success", false);
-                response.put("message", "Access denied. Admin role required.");
-                return ResponseEntity.status(403).body(response);
+            Optional<User> userOpt = userRepository.findByUsername(username);
+            if (!userOpt.isPresent()) {
+                return ResponseEntity.status(404).body(MessageResponse.error("User not found"));
             }
             
+            User user = userOpt.get();
+            user.setRole(role);
+            User savedUser = userRepository.save(user);
+            userDetailsService.evict(username);
+            
+            return ResponseEntity.ok(AuthResponse.of("Role updated successfully", UserView.of(savedUser)));
+            
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error getting users: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Error updating role: " + e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    // Admin only (SecurityConfig): hit rate and database lookup latency of the user-details cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse> getCacheStats() {
+        return ResponseEntity.ok(StatsResponse.of("cache", userDetailsService.cacheStats()));
+    }
+
+    // Admin only (SecurityConfig): queue time vs. hash time of the password hashing pool
+    @GetMapping("/hashing/stats")
+    public ResponseEntity<ApiResponse> getHashingStats() {
+        return ResponseEntity.ok(StatsResponse.of("hashing", passwordHashingService.stats()));
+    }
+
+    // Hashing pool saturated: fail fast rather than queue behind other logins
+    private ResponseEntity<ApiResponse> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1")
+                .body(MessageResponse.error("Too many authentication requests, please retry shortly"));
+    }
+}
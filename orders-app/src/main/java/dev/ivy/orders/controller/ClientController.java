@@ -1,13 +1,29 @@
 package dev.ivy.orders.controller;
 
+import dev.ivy.orders.dto.ApiResponse;
+import dev.ivy.orders.dto.ClientListResponse;
+import dev.ivy.orders.dto.ClientResponse;
+import dev.ivy.orders.dto.ImportResponse;
+import dev.ivy.orders.dto.MessageResponse;
+import dev.ivy.orders.dto.StatsResponse;
 import dev.ivy.orders.entity.Client;
-import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.CsvImportService;
+import dev.ivy.orders.service.DataVersionService;
+import dev.ivy.orders.service.DataVersionService.Dataset;
+import dev.ivy.orders.service.ResponseCacheService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,175 +34,182 @@ import java.util.Optional;
 public class ClientController {
 
     @Autowired
-    private ClientRepository clientRepository;
+    private ClientService clientService;
 
-    // GET /api/clients → 200 + JSON list
+    @Autowired
+    private CsvImportService csvImportService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ResponseCacheService responseCache;
+
+    // GET /api/clients → 200 + JSON list, or 304 when If-None-Match holds the current ETag
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllClients() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResponse> getAllClients(ServletWebRequest webRequest) {
+        // Unchanged since the caller's copy (If-None-Match): 304 without touching the database
+        if (dataVersionService.checkNotModified(webRequest, Dataset.CLIENTS)) {
+            return null;
+        }
         
         try {
-            List<Client> clients = clientRepository.findAll();
-            response.put("success", true);
-            response.put("message", "Clients retrieved successfully");
-            response.put("clients", clients);
-            response.put("count", clients.size());
-            return ResponseEntity.ok(response);
+            // Served as pre-encoded bytes while the client list is unchanged
+            ResponseCacheService.Key cacheKey = responseCache.keyFor(webRequest, Dataset.CLIENTS);
+            if (responseCache.writeCached(webRequest, cacheKey)) {
+                return null;
+            }
+            
+            List<Client> clients = clientService.getAllClients();
+            ClientListResponse response = new ClientListResponse(true, "Clients retrieved successfully",
+                    clients, clients.size());
+            responseCache.writeAndCache(webRequest, cacheKey, response);
+            return null;
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to retrieve clients: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to retrieve clients: " + e.getMessage()));
         }
     }
 
-    // GET /api/clients/{id} → 200 + JSON or 404
+    // GET /api/clients/cache/stats → 200 + hit/miss/eviction counters of the client and response caches
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse> getCacheStats() {
+        Map<String, Object> sections = new LinkedHashMap<>();
+        sections.put("caches", clientService.cacheStats());
+        sections.put("responses", responseCache.stats());
+        return ResponseEntity.ok(new StatsResponse(true, sections));
+    }
+
+    // GET /api/clients/{id} → 200 + JSON, 304 or 404
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getClientById(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResponse> getClientById(@PathVariable Long id, ServletWebRequest webRequest) {
+        // Unchanged since the caller's copy (If-None-Match): 304 without touching the database
+        if (dataVersionService.checkNotModified(webRequest, Dataset.CLIENTS)) {
+            return null;
+        }
         
         try {
-            Optional<Client> clientOpt = clientRepository.findById(id);
+            Optional<Client> clientOpt = clientService.getClientById(id);
             if (clientOpt.isPresent()) {
-                response.put("success", true);
-                response.put("message", "Client retrieved successfully");
-                response.put("client", clientOpt.get());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(new ClientResponse(true, "Client retrieved successfully", clientOpt.get()));
             } else {
-                response.put("success", false);
-                response.put("message", "Client not found");
-                return ResponseEntity.status(404).body(response);
+                return ResponseEntity.status(404).body(MessageResponse.error("Client not found"));
             }
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to retrieve client: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to retrieve client: " + e.getMessage()));
         }
     }
 
     // POST /api/clients → 201 + created record
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createClient(@RequestBody Client client) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> createClient(@RequestBody Client client) {
         try {
             // Validation
             if (client.getName() == null || client.getName().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Client name is required");
-                return ResponseEntity.status(400).body(response);
+                return ResponseEntity.status(400).body(MessageResponse.error("Client name is required"));
             }
             
             if (client.getCode() == null || client.getCode().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Client code is required");
-                return ResponseEntity.status(400).body(response);
+                return ResponseEntity.status(400).body(MessageResponse.error("Client code is required"));
             }
             
             if (client.getCity() == null || client.getCity().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Client city is required");
-                return ResponseEntity.status(400).body(response);
+                return ResponseEntity.status(400).body(MessageResponse.error("Client city is required"));
             }
             
             // Check if code already exists
-            if (clientRepository.existsByCode(client.getCode())) {
-                response.put("success", false);
-                response.put("message", "Client code already exists");
-                return ResponseEntity.status(400).body(response);
+            if (clientService.existsByCode(client.getCode())) {
+                return ResponseEntity.status(400).body(MessageResponse.error("Client code already exists"));
             }
             
-            Client savedClient = clientRepository.save(client);
-            response.put("success", true);
-            response.put("message", "Client created successfully");
-            response.put("client", savedClient);
-            return ResponseEntity.status(201).body(response);
+            Client savedClient = clientService.createClient(client);
+            return ResponseEntity.status(201).body(new ClientResponse(true, "Client created successfully", savedClient));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to create client: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to create client: " + e.getMessage()));
+        }
+    }
+
+    // POST /api/clients/import?resumeFrom={row} → 200 + import summary (name,code,city)
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse> importClients(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "0") long resumeFrom) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return importClientsCsv(in, resumeFrom);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse> importClientsBody(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "0") long resumeFrom) throws IOException {
+        return importClientsCsv(request.getInputStream(), resumeFrom);
+    }
+
+    private ResponseEntity<ApiResponse> importClientsCsv(InputStream in, long resumeFrom) {
+        try {
+            CsvImportService.Result result = csvImportService.importClients(in, resumeFrom);
+            ImportResponse response = ImportResponse.of(result);
+            return ResponseEntity.status(response.resumeFrom() == null ? 200 : 500).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(MessageResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to import clients: " + e.getMessage()));
         }
     }
 
     // PUT /api/clients/{id} → 200 + updated record
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateClient(@PathVariable Long id, @RequestBody Client client) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> updateClient(@PathVariable Long id, @RequestBody Client client) {
         try {
-            Optional<Client> existingClientOpt = clientRepository.findById(id);
+            Optional<Client> existingClientOpt = clientService.getClientById(id);
             if (!existingClientOpt.isPresent()) {
-                response.put("success", false);
-                response.put("message", "Client not found");
-                return ResponseEntity.status(404).body(response);
+                return ResponseEntity.status(404).body(MessageResponse.error("Client not found"));
             }
             
             Client existingClient = existingClientOpt.get();
             
             // Validation
             if (client.getName() == null || client.getName().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Client name is required");
-                return ResponseEntity.status(400).body(response);
+                return ResponseEntity.status(400).body(MessageResponse.error("Client name is required"));
             }
             
             if (client.getCode() == null || client.getCode().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Client code is required");
-                return ResponseEntity.status(400).body(response);
+                return ResponseEntity.status(400).body(MessageResponse.error("Client code is required"));
             }
             
             if (client.getCity() == null || client.getCity().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Client city is required");
-                return ResponseEntity.status(400).body(response);
+                return ResponseEntity.status(400).body(MessageResponse.error("Client city is required"));
             }
             
             // Check if code already exists for different client
             if (!client.getCode().equals(existingClient.getCode()) && 
-                clientRepository.existsByCode(client.getCode())) {
-                response.put("success", false);
-                response.put("message", "Client code already exists");
-                return ResponseEntity.status(400).body(response);
+                clientService.existsByCode(client.getCode())) {
+                return ResponseEntity.status(400).body(MessageResponse.error("Client code already exists"));
             }
             
-            // Update fields
-            existingClient.setName(client.getName());
-            existingClient.setCode(client.getCode());
-            existingClient.setCity(client.getCity());
-            
-            Client updatedClient = clientRepository.save(existingClient);
-            response.put("success", true);
-            response.put("message", "Client updated successfully");
-            response.put("client", updatedClient);
-            return ResponseEntity.ok(response);
+            Client updatedClient = clientService.updateClient(id, client);
+            return ResponseEntity.ok(new ClientResponse(true, "Client updated successfully", updatedClient));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to update client: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to update client: " + e.getMessage()));
         }
     }
 
     // DELETE /api/clients/{id} → 204
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteClient(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> deleteClient(@PathVariable Long id) {
         try {
-            Optional<Client> clientOpt = clientRepository.findById(id);
+            Optional<Client> clientOpt = clientService.getClientById(id);
             if (!clientOpt.isPresent()) {
-                response.put("success", false);
-                response.put("message", "Client not found");
-                return ResponseEntity.status(404).body(response);
+                return ResponseEntity.status(404).body(MessageResponse.error("Client not found"));
             }
             
-            clientRepository.deleteById(id);
-            response.put("success", true);
-            response.put("message", "Client deleted successfully");
-            return ResponseEntity.status(204).body(response);
+            clientService.deleteClient(id);
+            return ResponseEntity.status(204).body(MessageResponse.ok("Client deleted successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to delete client: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to delete client: " + e.getMessage()));
         }
     }
 } 
\ No newline at end of file
@@ -4,7 +4,12 @@ import dev.ivy.orders.config.DataSeeder;
 import dev.ivy.orders.repository.UserRepository;
 import dev.ivy.orders.repository.ClientRepository;
 import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.CustomUserDetailsService;
+import dev.ivy.orders.service.DataGeneratorService;
+import dev.ivy.orders.service.OrdersReloadedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +31,18 @@ public class DataSeederController {
     
     @Autowired
     private OrderRepository orderRepository;
+    
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private DataGeneratorService dataGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getSeedingStatus() {
@@ -49,12 +66,13 @@ public class DataSeederController {
         
         try {
             // Clear existing data
-            orderRepository.deleteAll();
-            clientRepository.deleteAll();
-            userRepository.deleteAll();
+            dataGenerator.clearAll();
             
             // Run seeder
             dataSeeder.run();
+            clientService.evictAll();
+            userDetailsService.evictAll();
+            eventPublisher.publishEvent(new OrdersReloadedEvent());
             
             response.put("status", "SUCCESS");
             response.put("message", "Database seeded successfully!");
@@ -70,14 +88,43 @@ public class DataSeederController {
         }
     }
 
+    // POST /api/seeder/generate?clients={n}&orders={m} → replaces clients and orders with synthetic data
+    @PostMapping("/generate")
+    public ResponseEntity<Map<String, Object>> generateData(@RequestParam(defaultValue = "1000") int clients,
+                                                            @RequestParam(defaultValue = "100000") long orders) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            DataGeneratorService.Result result = dataGenerator.generate(clients, orders);
+            clientService.evictAll();
+            eventPublisher.publishEvent(new OrdersReloadedEvent());
+
+            response.put("status", "SUCCESS");
+            response.put("message", "Generated " + result.clients() + " clients and " + result.orders() + " orders");
+            response.put("clients", result.clients());
+            response.put("orders", result.orders());
+            response.put("elapsedMillis", result.millis());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "ERROR");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("status", "ERROR");
+            response.put("message", "Failed to generate data: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     @DeleteMapping("/clear")
     public ResponseEntity<Map<String, Object>> clearAllData() {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            orderRepository.deleteAll();
-            clientRepository.deleteAll();
-            userRepository.deleteAll();
+            dataGenerator.clearAll();
+            clientService.evictAll();
+            userDetailsService.evictAll();
+            eventPublisher.publishEvent(new OrdersReloadedEvent());
             
             response.put("status", "SUCCESS");
             response.put("message", "All data cleared successfully!");
@@ -1,15 +1,26 @@
 package dev.ivy.orders.controller;
 
+import dev.ivy.orders.config.ConnectionPermitDataSource;
 import dev.ivy.orders.entity.User;
 import dev.ivy.orders.entity.Client;
 import dev.ivy.orders.entity.Order;
 import dev.ivy.orders.repository.UserRepository;
 import dev.ivy.orders.repository.ClientRepository;
 import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.CustomUserDetailsService;
+import dev.ivy.orders.service.DataGeneratorService;
+import dev.ivy.orders.service.OrderChangedEvent;
+import dev.ivy.orders.service.OrdersReloadedEvent;
+import dev.ivy.orders.service.PinnedThreadMonitor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -28,6 +39,28 @@ public class DatabaseTestController {
     
     @Autowired
     private OrderRepository orderRepository;
+    
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private DataGeneratorService dataGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Only present in virtual-thread mode
+    @Autowired
+    private ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> checkDatabaseHealth() {
@@ -54,6 +87,19 @@ public class DatabaseTestController {
         }
     }
 
+    // Execution mode, connection permits and carrier pinning (the last two only with virtual threads)
+    @GetMapping("/threads")
+    public ResponseEntity<Map<String, Object>> getThreadStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "SUCCESS");
+        response.put("virtualThreads", Thread.currentThread().isVirtual());
+        if (dataSource instanceof ConnectionPermitDataSource permits) {
+            response.put("connectionPermits", permits.stats());
+        }
+        pinnedThreadMonitor.ifAvailable(monitor -> response.put("pinning", monitor.stats()));
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/create-test-data")
     public ResponseEntity<Map<String, Object>> createTestData() {
         Map<String, Object> response = new HashMap<>();
@@ -65,13 +111,17 @@ public class DatabaseTestController {
             
             // Create a test client
             Client testClient = new Client("Test Company", "CLI001", "Test City");
-            Client savedClient = clientRepository.save(testClient);
+            Client savedClient = clientService.createClient(testClient);
             
             // Create a test order
             Order testOrder = new Order("Test Product", savedClient, 1, new BigDecimal("999.99"), LocalDate.now());
             testOrder.setStatus("PENDING");
             testOrder.setPaymentMethod("CARD");
-            Order savedOrder = orderRepository.save(testOrder);
+            Order savedOrder = transactionTemplate.execute(status -> {
+                Order saved = orderRepository.save(testOrder);
+                eventPublisher.publishEvent(OrderChangedEvent.created(saved));
+                return saved;
+            });
             
             response.put("status", "SUCCESS");
             response.put("message", "Test data created successfully");
@@ -127,7 +177,7 @@ public class DatabaseTestController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<Order> orders = orderRepository.findAll();
+            List<Order> orders = orderRepository.findAllWithClient();
             response.put("status", "SUCCESS");
             response.put("message", "Retrieved all orders");
             response.put("orders", orders);
@@ -145,9 +195,10 @@ public class DatabaseTestController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            orderRepository.deleteAll();
-            clientRepository.deleteAll();
-            userRepository.deleteAll();
+            dataGenerator.clearAll();
+            clientService.evictAll();
+            userDetailsService.evictAll();
+            eventPublisher.publishEvent(new OrdersReloadedEvent());
             response.put("status", "SUCCESS");
             response.put("message", "All data cleared successfully");
             return ResponseEntity.ok(response);
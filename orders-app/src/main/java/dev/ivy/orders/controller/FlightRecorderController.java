@@ -0,0 +1,74 @@
+package dev.ivy.orders.controller;
+
+import dev.ivy.orders.dto.ApiResponse;
+import dev.ivy.orders.dto.MessageResponse;
+import dev.ivy.orders.dto.StatsResponse;
+import dev.ivy.orders.service.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Admin only (SecurityConfig): the continuous JFR recording and windowed dumps of it
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class FlightRecorderController {
+
+    @Autowired
+    private FlightRecorderService flightRecorder;
+
+    // GET /api/admin/jfr → 200 + recording status
+    @GetMapping
+    public ResponseEntity<ApiResponse> getStatus() {
+        return ResponseEntity.ok(StatsResponse.of("recording", flightRecorder.status()));
+    }
+
+    // POST /api/admin/jfr/start → 200 + status; already running is not an error
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponse> start() {
+        try {
+            return ResponseEntity.ok(StatsResponse.of("recording", flightRecorder.start()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to start recording: " + e.getMessage()));
+        }
+    }
+
+    // POST /api/admin/jfr/stop → 200 + status; the recorded data is discarded
+    @PostMapping("/stop")
+    public ResponseEntity<ApiResponse> stop() {
+        return ResponseEntity.ok(StatsResponse.of("recording", flightRecorder.stop()));
+    }
+
+    // POST /api/admin/jfr/dump?window=5m → 200 + file written on the server, 409 when not recording
+    @PostMapping("/dump")
+    public ResponseEntity<ApiResponse> dump(@RequestParam(defaultValue = "5m") String window) {
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(MessageResponse.error("Invalid window: " + window));
+        }
+
+        try {
+            FlightRecorderService.Dump dump = flightRecorder.dump(duration);
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("file", dump.file().toString());
+            details.put("bytes", dump.bytes());
+            details.put("from", dump.from().toString());
+            details.put("to", dump.to().toString());
+            return ResponseEntity.ok(StatsResponse.of("dump", details));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(MessageResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to dump recording: " + e.getMessage()));
+        }
+    }
+}
@@ -1,18 +1,66 @@
 package dev.ivy.orders.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.ivy.orders.dto.ApiResponse;
+import dev.ivy.orders.dto.BatchResponse;
+import dev.ivy.orders.dto.ImportResponse;
+import dev.ivy.orders.dto.MessageResponse;
+import dev.ivy.orders.dto.OrderCountsResponse;
+import dev.ivy.orders.dto.OrderCursor;
+import dev.ivy.orders.dto.OrderCursorPageResponse;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderPageResponse;
+import dev.ivy.orders.dto.OrderPaging;
+import dev.ivy.orders.dto.OrderResponse;
+import dev.ivy.orders.dto.OrderStatsRebuildResponse;
+import dev.ivy.orders.dto.OrderStatsResponse;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.entity.Client;
 import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
 import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.CsvImportService;
+import dev.ivy.orders.service.DataVersionService;
+import dev.ivy.orders.service.DataVersionService.Dataset;
+import dev.ivy.orders.service.OrderBatchService;
+import dev.ivy.orders.service.OrderChangedEvent;
+import dev.ivy.orders.service.OrderCountService;
+import dev.ivy.orders.service.OrderExportService;
+import dev.ivy.orders.service.OrderStatsService;
+import dev.ivy.orders.service.ResponseCacheService;
+import dev.ivy.orders.service.OrderValidator;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -22,192 +70,448 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
 
-    // GET /api/orders?page={page}&size={size} → 200 + paged JSON
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private CsvImportService csvImportService;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    @Autowired
+    private OrderCountService orderCountService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ResponseCacheService responseCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Upper bound on rows accepted by one POST /api/orders/batch request
+    private static final int MAX_BATCH_SIZE = 50_000;
+
+    // GET /api/orders?page={page}&size={size}&sort={property,dir} → 200 + paged JSON
+    // GET /api/orders?cursor=true&size={size} → 200 + first keyset page; follow with after={nextCursor}
+    // Both modes accept clientId, status, paymentMethod, expedition, type, dateFrom/dateTo and minPrice/maxPrice
+    // List, counts, stats and single-record GETs carry an ETag; If-None-Match with the current one → 304
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getOrders(
+    public ResponseEntity<ApiResponse> getOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) Long clientId) {
+            OrderFilter filter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            ServletWebRequest webRequest) {
+        
+        size = OrderPaging.clampSize(size);
+        
+        // Rows carry client names, so the ETag covers both data sets
+        if (dataVersionService.checkNotModified(webRequest, Dataset.ORDERS, Dataset.CLIENTS)) {
+            return null;
+        }
         
-        Map<String, Object> response = new HashMap<>();
+        if (cursor || after != null) {
+            if (sort != null) {
+                return ResponseEntity.badRequest()
+                        .body(MessageResponse.error("Cursor pagination is always sorted by orderDate,desc"));
+            }
+            return getOrdersAfter(after, size, filter, includeTotal);
+        }
         
+        Sort sortBy;
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Order> ordersPage;
-            
-            if (clientId != null) {
-                // Filtered by clientId
-                ordersPage = orderRepository.findByClientId(clientId, pageable);
-            } else {
-                // All orders
-                ordersPage = orderRepository.findAll(pageable);
+            sortBy = OrderPaging.parseSort(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(MessageResponse.error(e.getMessage()));
+        }
+        
+        try {
+            // First pages are the hot ones; they are served as pre-encoded bytes while nothing changed
+            ResponseCacheService.Key cacheKey = page == 0 ? responseCache.keyFor(webRequest, Dataset.ORDERS, Dataset.CLIENTS) : null;
+            if (cacheKey != null && responseCache.writeCached(webRequest, cacheKey)) {
+                return null;
             }
             
-            response.put("success", true);
-            response.put("message", "Orders retrieved successfully");
-            response.put("orders", ordersPage.getContent());
-            response.put("totalElements", ordersPage.getTotalElements());
-            response.put("totalPages", ordersPage.getTotalPages());
-            response.put("currentPage", page);
-            response.put("pageSize", size);
-            response.put("hasNext", ordersPage.hasNext());
-            response.put("hasPrevious", ordersPage.hasPrevious());
+            Pageable pageable = PageRequest.of(page, size, sortBy);
+            // Client/status totals come from the in-memory counters; other filters still count in the database
+            Page<OrderSummary> ordersPage = orderRepository.findSummaries(filter, pageable, () -> countOrders(filter));
+            
+            OrderPageResponse response = new OrderPageResponse(true, "Orders retrieved successfully",
+                    ordersPage.getContent(), ordersPage.getTotalElements(), ordersPage.getTotalPages(),
+                    page, size, ordersPage.hasNext(), ordersPage.hasPrevious());
             
+            if (cacheKey != null) {
+                responseCache.writeAndCache(webRequest, cacheKey, response);
+                return null;
+            }
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to retrieve orders: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to retrieve orders: " + e.getMessage()));
+        }
+    }
+
+    // Seeks on (orderDate, id) instead of OFFSET; the count query only runs when includeTotal is set
+    private ResponseEntity<ApiResponse> getOrdersAfter(String after, int size, OrderFilter filter, boolean includeTotal) {
+        OrderCursor cursor = null;
+        if (after != null) {
+            try {
+                cursor = OrderCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(MessageResponse.error("Invalid cursor"));
+            }
+        }
+        
+        try {
+            // Fetch one extra row to know whether another page exists
+            List<OrderSummary> orders = orderRepository.findPageAfter(filter, cursor, size + 1);
+            boolean hasNext = orders.size() > size;
+            if (hasNext) {
+                orders = orders.subList(0, size);
+            }
+            
+            return ResponseEntity.ok(new OrderCursorPageResponse(true, "Orders retrieved successfully",
+                    orders, size, hasNext,
+                    hasNext ? toCursor(orders.get(orders.size() - 1)).encode() : null,
+                    includeTotal ? countOrders(filter) : null));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to retrieve orders: " + e.getMessage()));
+        }
+    }
+
+    private long countOrders(OrderFilter filter) {
+        return orderCountService.countFor(filter).orElseGet(() -> orderRepository.count(filter));
+    }
+
+    private static OrderCursor toCursor(OrderSummary order) {
+        return new OrderCursor(order.orderDate(), order.id());
+    }
+
+    // GET /api/orders/export?format={ndjson|csv}&gzip={bool} → 200 + streamed rows, same filters as the list
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            OrderFilter filter,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        OrderExportService.Format exportFormat;
+        try {
+            exportFormat = OrderExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        
+        MediaType contentType = exportFormat == OrderExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.name().toLowerCase() + "\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        return builder.body(out -> orderExportService.export(filter, exportFormat, gzip, out));
     }
 
-    // GET /api/orders/{id} → 200 + JSON or 404
+    // GET /api/orders/{id} → 200 + JSON, 304 or 404
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getOrderById(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResponse> getOrderById(@PathVariable Long id, ServletWebRequest webRequest) {
+        // Unchanged since the caller's copy (If-None-Match): 304 without touching the database
+        if (dataVersionService.checkNotModified(webRequest, Dataset.ORDERS, Dataset.CLIENTS)) {
+            return null;
+        }
         
         try {
-            Optional<Order> orderOpt = orderRepository.findById(id);
+            ResponseCacheService.Key cacheKey = responseCache.keyFor(webRequest, Dataset.ORDERS, Dataset.CLIENTS);
+            if (responseCache.writeCached(webRequest, cacheKey)) {
+                return null;
+            }
+            
+            Optional<Order> orderOpt = orderRepository.findWithClientById(id);
             if (orderOpt.isPresent()) {
-                response.put("success", true);
-                response.put("message", "Order retrieved successfully");
-                response.put("order", orderOpt.get());
-                return ResponseEntity.ok(response);
+                responseCache.writeAndCache(webRequest, cacheKey,
+                        new OrderResponse(true, "Order retrieved successfully", orderOpt.get()));
+                return null;
             } else {
-                response.put("success", false);
-                response.put("message", "Order not found");
-                return ResponseEntity.status(404).body(response);
+                return ResponseEntity.status(404).body(MessageResponse.error("Order not found"));
             }
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to retrieve order: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to retrieve order: " + e.getMessage()));
         }
     }
 
     // POST /api/orders → 201 + created record
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createOrder(@RequestBody Order order) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> createOrder(@RequestBody Order order) {
         try {
             // Validation
-            if (order.getClient() == null || order.getClient().getId() == null) {
-                response.put("success", false);
-                response.put("message", "Client is required");
-                return ResponseEntity.status(400).body(response);
+            String error = OrderValidator.validate(order);
+            if (error != null) {
+                return ResponseEntity.status(400).body(MessageResponse.error(error));
             }
             
-            if (order.getProductName() == null || order.getProductName().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Product name is required");
-                return ResponseEntity.status(400).body(response);
-            }
-            
-            if (order.getQuantity() == null || order.getQuantity() <= 0) {
-                response.put("success", false);
-                response.put("message", "Valid quantity is required");
-                return ResponseEntity.status(400).body(response);
-            }
-            
-            if (order.getPrice() == null || order.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
-                response.put("success", false);
-                response.put("message", "Valid price is required");
-                return ResponseEntity.status(400).body(response);
-            }
-            
-            Order savedOrder = orderRepository.save(order);
-            response.put("success", true);
-            response.put("message", "Order created successfully");
-            response.put("order", savedOrder);
-            return ResponseEntity.status(201).body(response);
+            // Published before the commit: see OrderStatsService
+            Order savedOrder = transactionTemplate.execute(status -> {
+                Order saved = orderRepository.save(order);
+                eventPublisher.publishEvent(OrderChangedEvent.created(saved));
+                return saved;
+            });
+            return ResponseEntity.status(201).body(new OrderResponse(true, "Order created successfully", savedOrder));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to create order: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to create order: " + e.getMessage()));
         }
     }
 
-    // PUT /api/orders/{id} → 200 + updated record
-    @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateOrder(@PathVariable Long id, @RequestBody Order order) {
-        Map<String, Object> response = new HashMap<>();
+    // POST /api/orders/batch → 200 + per-row report (JSON array body)
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> createOrdersBatch(@RequestBody List<Order> orders) {
+        return ingestBatch(orders, new ArrayList<>());
+    }
+
+    // POST /api/orders/batch → 200 + per-row report (NDJSON body, one order per line)
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse> createOrdersBatchNdjson(HttpServletRequest request) {
+        List<Order> orders = new ArrayList<>();
+        List<OrderBatchService.RowError> errors = new ArrayList<>();
         
-        try {
-            Optional<Order> existingOrderOpt = orderRepository.findById(id);
-            if (!existingOrderOpt.isPresent()) {
-                response.put("success", false);
-                response.put("message", "Order not found");
-                return ResponseEntity.status(404).body(response);
-            }
-            
-            Order existingOrder = existingOrderOpt.get();
-            
-            // Validation
-            if (order.getClient() == null || order.getClient().getId() == null) {
-                response.put("success", false);
-                response.put("message", "Client is required");
-                return ResponseEntity.status(400).body(response);
+        try (BufferedReader reader = request.getReader()) {
+            ObjectReader orderReader = objectMapper.readerFor(Order.class);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    orders.add(orderReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    errors.add(new OrderBatchService.RowError(orders.size(), "Malformed JSON: " + e.getOriginalMessage()));
+                    orders.add(null);
+                }
             }
-            
-            if (order.getProductName() == null || order.getProductName().trim().isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Product name is required");
-                return ResponseEntity.status(400).body(response);
+        } catch (IOException e) {
+            return ResponseEntity.status(400)
+                    .body(MessageResponse.error("Failed to read request body: " + e.getMessage()));
+        }
+        
+        return ingestBatch(orders, errors);
+    }
+
+    // Validates every row in one pass (one query for all referenced clients), then batch-inserts the valid ones
+    private ResponseEntity<ApiResponse> ingestBatch(List<Order> orders, List<OrderBatchService.RowError> errors) {
+        if (orders.isEmpty() || orders.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(400)
+                    .body(MessageResponse.error("A batch must contain between 1 and " + MAX_BATCH_SIZE + " orders"));
+        }
+        
+        try {
+            Set<Long> clientIds = new HashSet<>();
+            for (Order order : orders) {
+                if (order != null && order.getClientId() != null) {
+                    clientIds.add(order.getClientId());
+                }
             }
+            Set<Long> existingClientIds = clientIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(clientRepository.findExistingIds(clientIds));
             
-            if (order.getQuantity() == null || order.getQuantity() <= 0) {
-                response.put("success", false);
-                response.put("message", "Valid quantity is required");
-                return ResponseEntity.status(400).body(response);
+            Map<Integer, Order> valid = new LinkedHashMap<>();
+            for (int i = 0; i < orders.size(); i++) {
+                Order order = orders.get(i);
+                if (order == null) {
+                    continue;
+                }
+                String error = OrderValidator.validate(order);
+                if (error == null && !existingClientIds.contains(order.getClientId())) {
+                    error = "Client not found: " + order.getClientId();
+                }
+                if (error != null) {
+                    errors.add(new OrderBatchService.RowError(i, error));
+                } else {
+                    valid.put(i, order);
+                }
             }
             
-            if (order.getPrice() == null || order.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
-                response.put("success", false);
-                response.put("message", "Valid price is required");
-                return ResponseEntity.status(400).body(response);
-            }
+            OrderBatchService.Result result = orderBatchService.insertAll(valid);
+            errors.addAll(result.errors());
+            errors.sort(Comparator.comparingInt(OrderBatchService.RowError::index));
             
-            // Update fields
-            existingOrder.setClient(order.getClient());
-            existingOrder.setProductName(order.getProductName());
-            existingOrder.setQuantity(order.getQuantity());
-            existingOrder.setPrice(order.getPrice());
-            existingOrder.setOrderDate(order.getOrderDate());
+            return ResponseEntity.ok(new BatchResponse(errors.isEmpty(),
+                    errors.isEmpty()
+                            ? "Orders created successfully"
+                            : "Orders created with " + errors.size() + " rejected rows",
+                    orders.size(), result.inserted(), errors.size(), errors));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to create orders: " + e.getMessage()));
+        }
+    }
+
+    // POST /api/orders/import?resumeFrom={row} → 200 + import summary (clientCode,productName,quantity,price,orderDate[,type,paymentMethod,expedition,status])
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse> importOrders(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "0") long resumeFrom) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return importOrdersCsv(in, resumeFrom);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse> importOrdersBody(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "0") long resumeFrom) throws IOException {
+        return importOrdersCsv(request.getInputStream(), resumeFrom);
+    }
+
+    private ResponseEntity<ApiResponse> importOrdersCsv(InputStream in, long resumeFrom) {
+        try {
+            CsvImportService.Result result = csvImportService.importOrders(in, resumeFrom);
+            ImportResponse response = ImportResponse.of(result);
+            return ResponseEntity.status(response.resumeFrom() == null ? 200 : 500).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(MessageResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to import orders: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/orders/counts?clientId={id} → 200 + order count per status (for that client, or overall)
+    @GetMapping("/counts")
+    public ResponseEntity<ApiResponse> getOrderCounts(@RequestParam(required = false) Long clientId,
+                                                              ServletWebRequest webRequest) {
+        if (dataVersionService.checkNotModified(webRequest, Dataset.ORDERS)) {
+            return null;
+        }
+        
+        try {
+            OrderCountService.ClientCounts counts = orderCountService.countsFor(clientId);
+            return ResponseEntity.ok(new OrderCountsResponse(true, clientId, counts.total(), counts.byStatus()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to fetch order counts: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/orders/stats → 200 + order count and revenue in total, per client, status, payment method and day
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse> getOrderStats(ServletWebRequest webRequest) {
+        if (dataVersionService.checkNotModified(webRequest, Dataset.ORDERS, Dataset.CLIENTS)) {
+            return null;
+        }
+        
+        try {
+            OrderStatsService.Snapshot stats = orderStatsService.snapshot();
+            // One cached list for all names instead of a lookup per client
+            Map<Long, String> clientNames = new HashMap<>();
+            clientService.getAllClients().forEach(client -> clientNames.put(client.getId(), client.getName()));
+            List<OrderStatsResponse.ClientTotals> byClient = new ArrayList<>();
+            stats.byClient().forEach((clientId, totals) -> byClient.add(new OrderStatsResponse.ClientTotals(
+                    clientId,
+                    clientNames.get(clientId),
+                    totals.count(),
+                    totals.revenue())));
             
-            Order updatedOrder = orderRepository.save(existingOrder);
-            response.put("success", true);
-            response.put("message", "Order updated successfully");
-            response.put("order", updatedOrder);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new OrderStatsResponse(true, stats.total(), byClient,
+                    stats.byStatus(), stats.byPaymentMethod(), stats.byDay()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to update order: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to fetch order stats: " + e.getMessage()));
+        }
+    }
+
+    // POST /api/orders/stats/rebuild → 200 + number of orders recounted; admin only (SecurityConfig)
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<ApiResponse> rebuildOrderStats() {
+        try {
+            long start = System.currentTimeMillis();
+            long orders = orderStatsService.rebuild();
+            return ResponseEntity.ok(new OrderStatsRebuildResponse(true, orders, System.currentTimeMillis() - start));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.error("Failed to rebuild order stats: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/orders/{id} → 200 + updated record
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse> updateOrder(@PathVariable Long id, @RequestBody Order order) {
+        try {
+            // Load, update and publish in one transaction, with the row locked: "before" is what the update replaces
+            return transactionTemplate.execute(status -> {
+                Optional<Order> existingOrderOpt = orderRepository.findForUpdateById(id);
+                if (!existingOrderOpt.isPresent()) {
+                    return ResponseEntity.status(404).body(MessageResponse.error("Order not found"));
+                }
+                
+                Order existingOrder = existingOrderOpt.get();
+                
+                // Validation
+                String error = OrderValidator.validate(order);
+                if (error != null) {
+                    return ResponseEntity.status(400).body(MessageResponse.error(error));
+                }
+                
+                Optional<Client> clientOpt = clientService.getClientById(order.getClientId());
+                if (!clientOpt.isPresent()) {
+                    return ResponseEntity.status(400).body(MessageResponse.error("Client not found"));
+                }
+                
+                // Update fields; the managed entity is flushed on commit and keeps the loaded client for the response
+                OrderChangedEvent.Fact before = OrderChangedEvent.Fact.of(existingOrder);
+                existingOrder.setClient(clientOpt.get());
+                existingOrder.setProductName(order.getProductName());
+                existingOrder.setQuantity(order.getQuantity());
+                existingOrder.setPrice(order.getPrice());
+                existingOrder.setOrderDate(order.getOrderDate());
+                
+                eventPublisher.publishEvent(OrderChangedEvent.updated(before, existingOrder));
+                return ResponseEntity.ok(new OrderResponse(true, "Order updated successfully", existingOrder));
+            });
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to update order: " + e.getMessage()));
         }
     }
 
     // DELETE /api/orders/{id} → 204
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteOrder(@PathVariable Long id) {
-        Map<String, Object> response = new HashMap<>();
-        
+    public ResponseEntity<ApiResponse> deleteOrder(@PathVariable Long id) {
         try {
-            Optional<Order> orderOpt = orderRepository.findById(id);
-            if (!orderOpt.isPresent()) {
-                response.put("success", false);
-                response.put("message", "Order not found");
-                return ResponseEntity.status(404).body(response);
-            }
-            
-            orderRepository.deleteById(id);
-            response.put("success", true);
-            response.put("message", "Order deleted successfully");
-            return ResponseEntity.status(204).body(response);
+            return transactionTemplate.execute(status -> {
+                Optional<Order> orderOpt = orderRepository.findForUpdateById(id);
+                if (!orderOpt.isPresent()) {
+                    return ResponseEntity.status(404).body(MessageResponse.error("Order not found"));
+                }
+                
+                orderRepository.delete(orderOpt.get());
+                eventPublisher.publishEvent(OrderChangedEvent.deleted(orderOpt.get()));
+                return ResponseEntity.status(204).body(MessageResponse.ok("Order deleted successfully"));
+            });
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Failed to delete order: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500).body(MessageResponse.error("Failed to delete order: " + e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+}
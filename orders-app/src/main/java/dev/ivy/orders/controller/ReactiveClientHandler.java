@@ -0,0 +1,51 @@
+package dev.ivy.orders.controller;
+
+import dev.ivy.orders.dto.ClientListResponse;
+import dev.ivy.orders.dto.ClientResponse;
+import dev.ivy.orders.dto.MessageResponse;
+import dev.ivy.orders.repository.ReactiveClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive, read-only counterparts of the {@link ClientController} GETs.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveClientHandler {
+
+    @Autowired
+    private ReactiveClientRepository clientRepository;
+
+    // GET /api/clients → 200 + JSON list
+    public Mono<ServerResponse> getAllClients(ServerRequest request) {
+        return clientRepository.findAll().collectList()
+                .flatMap(clients -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ClientListResponse(true, "Clients retrieved successfully", clients, clients.size())))
+                .onErrorResume(e -> ServerResponse.status(500).contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(MessageResponse.error("Failed to retrieve clients: " + e.getMessage())));
+    }
+
+    // GET /api/clients/{id} → 200 + JSON or 404
+    public Mono<ServerResponse> getClientById(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(MessageResponse.error("Invalid client id"));
+        }
+        return clientRepository.findById(id)
+                .flatMap(client -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ClientResponse(true, "Client retrieved successfully", client)))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(404).contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(MessageResponse.error("Client not found"))))
+                .onErrorResume(e -> ServerResponse.status(500).contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(MessageResponse.error("Failed to retrieve client: " + e.getMessage())));
+    }
+}
@@ -0,0 +1,129 @@
+package dev.ivy.orders.controller;
+
+import dev.ivy.orders.dto.MessageResponse;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderPageResponse;
+import dev.ivy.orders.dto.OrderPaging;
+import dev.ivy.orders.dto.OrderResponse;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.repository.ReactiveOrderRepository;
+import dev.ivy.orders.service.OrderCountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive, read-only counterparts of the {@link OrderController} GETs, routed by
+ * {@link dev.ivy.orders.config.ReactiveServerConfig}. Same parameters and JSON envelopes;
+ * no ETags or response cache, since every read goes to the database over R2DBC.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveOrderHandler {
+
+    // Parses the filter's ISO dates and decimals like the servlet binder does
+    private static final DefaultFormattingConversionService CONVERSIONS = new DefaultFormattingConversionService();
+
+    @Autowired
+    private ReactiveOrderRepository orderRepository;
+
+    @Autowired
+    private OrderCountService orderCountService;
+
+    // Rows requested from the database at a time while streaming
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // GET /api/orders?page={page}&size={size}&sort={property,dir} → 200 + paged JSON, same filters as the servlet list
+    public Mono<ServerResponse> getOrders(ServerRequest request) {
+        int page;
+        int size;
+        Sort sort;
+        try {
+            page = Math.max(0, Integer.parseInt(request.queryParam("page").orElse("0")));
+            size = OrderPaging.clampSize(Integer.parseInt(request.queryParam("size").orElse("10")));
+            sort = OrderPaging.parseSort(request.queryParam("sort").orElse(null));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        long offset = (long) page * size;
+
+        return bindFilter(request)
+                .flatMap(filter -> orderRepository.findSummaries(filter, sort, size, offset).collectList()
+                        .flatMap(orders -> total(filter, orders, size, offset)
+                                .map(total -> page(orders, total, page, size))))
+                .flatMap(response -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response))
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(e.getMessage()))
+                .onErrorResume(e -> serverError("Failed to retrieve orders: " + e.getMessage()));
+    }
+
+    // GET /api/orders/stream → 200 + every matching row, as NDJSON or (Accept: text/event-stream) server-sent events
+    public Mono<ServerResponse> streamOrders(ServerRequest request) {
+        MediaType contentType = request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM)
+                ? MediaType.TEXT_EVENT_STREAM
+                : MediaType.APPLICATION_NDJSON;
+        return bindFilter(request)
+                .flatMap(filter -> {
+                    // Backpressure: the socket's demand drives the query, at most fetchSize rows ahead
+                    Flux<OrderSummary> rows = orderRepository.streamSummaries(filter).limitRate(fetchSize);
+                    return ServerResponse.ok().contentType(contentType).body(rows, OrderSummary.class);
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(e.getMessage()));
+    }
+
+    // GET /api/orders/{id} → 200 + JSON or 404
+    public Mono<ServerResponse> getOrderById(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return badRequest("Invalid order id");
+        }
+        return orderRepository.findWithClientById(id)
+                .flatMap(order -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new OrderResponse(true, "Order retrieved successfully", order)))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(404).contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(MessageResponse.error("Order not found"))))
+                .onErrorResume(e -> serverError("Failed to retrieve order: " + e.getMessage()));
+    }
+
+    private static Mono<OrderFilter> bindFilter(ServerRequest request) {
+        return request.bind(OrderFilter.class, binder -> binder.setConversionService(CONVERSIONS))
+                .onErrorMap(e -> new IllegalArgumentException("Invalid filter: " + e.getMessage(), e));
+    }
+
+    // Like PageableExecutionUtils: a short page gives the total away; otherwise in-memory counts, then count(*)
+    private Mono<Long> total(OrderFilter filter, List<OrderSummary> orders, int size, long offset) {
+        if (orders.size() < size && (offset == 0 || !orders.isEmpty())) {
+            return Mono.just(offset + orders.size());
+        }
+        return Mono.justOrEmpty(orderCountService.countFor(filter).stream().boxed().findFirst())
+                .switchIfEmpty(Mono.defer(() -> orderRepository.count(filter)));
+    }
+
+    private static OrderPageResponse page(List<OrderSummary> orders, long total, int page, int size) {
+        int totalPages = (int) ((total + size - 1) / size);
+        return new OrderPageResponse(true, "Orders retrieved successfully", orders, total, totalPages,
+                page, size, page + 1 < totalPages, page > 0);
+    }
+
+    private static Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(MessageResponse.error(message));
+    }
+
+    private static Mono<ServerResponse> serverError(String message) {
+        return ServerResponse.status(500).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(MessageResponse.error(message));
+    }
+}
@@ -0,0 +1,11 @@
+package dev.ivy.orders.dto;
+
+/**
+ * Common type of the JSON envelopes returned by the API controllers. Each envelope is a
+ * record, so Jackson builds its serializer once per type instead of walking a map and
+ * looking up a serializer for every value on every request.
+ */
+public interface ApiResponse {
+
+    boolean success();
+}
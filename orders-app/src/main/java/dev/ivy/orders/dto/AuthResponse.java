@@ -0,0 +1,17 @@
+package dev.ivy.orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Login, refresh, register, role change and /me responses; token and expiresAt are only set on login and refresh.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuthResponse(boolean success, String message, String token, Instant expiresAt, UserView user)
+        implements ApiResponse {
+
+    public static AuthResponse of(String message, UserView user) {
+        return new AuthResponse(true, message, null, null, user);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.service.OrderBatchService.RowError;
+
+import java.util.List;
+
+public record BatchResponse(
+        boolean success,
+        String message,
+        int received,
+        int inserted,
+        int failed,
+        List<RowError> errors) implements ApiResponse {
+}
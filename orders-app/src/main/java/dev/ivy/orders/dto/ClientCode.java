@@ -0,0 +1,7 @@
+package dev.ivy.orders.dto;
+
+/**
+ * Minimal (id, code) pair used to resolve client codes without loading entities.
+ */
+public record ClientCode(Long id, String code) {
+}
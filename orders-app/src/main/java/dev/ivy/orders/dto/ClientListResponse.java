@@ -0,0 +1,8 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.entity.Client;
+
+import java.util.List;
+
+public record ClientListResponse(boolean success, String message, List<Client> clients, int count) implements ApiResponse {
+}
@@ -0,0 +1,6 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.entity.Client;
+
+public record ClientResponse(boolean success, String message, Client client) implements ApiResponse {
+}
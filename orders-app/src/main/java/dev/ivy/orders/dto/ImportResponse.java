@@ -0,0 +1,29 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.service.CsvImportService;
+
+import java.util.List;
+
+/**
+ * Summary of a CSV import; resumeFrom is null once the whole file went through.
+ */
+public record ImportResponse(
+        boolean success,
+        String message,
+        long processed,
+        long inserted,
+        long skipped,
+        long failed,
+        List<CsvImportService.RowError> errors,
+        Long resumeFrom) implements ApiResponse {
+
+    public static ImportResponse of(CsvImportService.Result result) {
+        boolean complete = result.resumeFrom() == null;
+        return new ImportResponse(complete && result.failed() == 0,
+                complete
+                        ? "Import finished"
+                        : "Import stopped on a failed chunk; retry with resumeFrom=" + result.resumeFrom(),
+                result.processed(), result.inserted(), result.skipped(), result.failed(),
+                result.errors(), result.resumeFrom());
+    }
+}
@@ -0,0 +1,15 @@
+package dev.ivy.orders.dto;
+
+/**
+ * Envelope with no payload: errors, deletes and other acknowledgements.
+ */
+public record MessageResponse(boolean success, String message) implements ApiResponse {
+
+    public static MessageResponse ok(String message) {
+        return new MessageResponse(true, message);
+    }
+
+    public static MessageResponse error(String message) {
+        return new MessageResponse(false, message);
+    }
+}
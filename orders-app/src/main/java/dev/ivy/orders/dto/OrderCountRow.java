@@ -0,0 +1,7 @@
+package dev.ivy.orders.dto;
+
+/**
+ * Number of orders for one (client, status) pair, as read by count reconciliation.
+ */
+public record OrderCountRow(Long clientId, String status, Long count) {
+}
@@ -0,0 +1,7 @@
+package dev.ivy.orders.dto;
+
+import java.util.Map;
+
+public record OrderCountsResponse(boolean success, Long clientId, long total, Map<String, Long> byStatus)
+        implements ApiResponse {
+}
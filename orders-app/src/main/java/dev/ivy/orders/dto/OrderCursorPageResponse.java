@@ -0,0 +1,18 @@
+package dev.ivy.orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Keyset page; totalElements is only present when the caller asked for it.
+ */
+public record OrderCursorPageResponse(
+        boolean success,
+        String message,
+        List<OrderSummary> orders,
+        int pageSize,
+        boolean hasNext,
+        String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements) implements ApiResponse {
+}
@@ -0,0 +1,15 @@
+package dev.ivy.orders.dto;
+
+import java.util.List;
+
+public record OrderPageResponse(
+        boolean success,
+        String message,
+        List<OrderSummary> orders,
+        long totalElements,
+        int totalPages,
+        int currentPage,
+        int pageSize,
+        boolean hasNext,
+        boolean hasPrevious) implements ApiResponse {
+}
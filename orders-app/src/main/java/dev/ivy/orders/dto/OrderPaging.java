@@ -0,0 +1,42 @@
+package dev.ivy.orders.dto;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Page size cap and sort parsing shared by the servlet and reactive order lists,
+ * so both accept exactly the same requests.
+ */
+public final class OrderPaging {
+
+    // Hard cap for every paging mode so a single request can't pull the whole table
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Sortable properties; each is the trailing column of the composite indexes on orders
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "orderDate", "price");
+
+    private OrderPaging() {
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // "property" or "property,asc|desc"; id is appended as a tie-breaker so pages are stable
+    public static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        Sort sortBy = Sort.by(direction, property);
+        return property.equals("id") ? sortBy : sortBy.and(Sort.by(direction, "id"));
+    }
+}
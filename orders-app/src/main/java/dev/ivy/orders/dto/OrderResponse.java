@@ -0,0 +1,6 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.entity.Order;
+
+public record OrderResponse(boolean success, String message, Order order) implements ApiResponse {
+}
@@ -0,0 +1,17 @@
+package dev.ivy.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One group of the stats backfill query: order count and sum(price × quantity) for a
+ * (client, status, payment method, day) combination within an id range.
+ */
+public record OrderRollupRow(
+        Long clientId,
+        String status,
+        String paymentMethod,
+        LocalDate orderDate,
+        Long count,
+        BigDecimal amount) {
+}
@@ -0,0 +1,4 @@
+package dev.ivy.orders.dto;
+
+public record OrderStatsRebuildResponse(boolean success, long orders, long durationMs) implements ApiResponse {
+}
@@ -0,0 +1,20 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.service.OrderStatsService.Totals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public record OrderStatsResponse(
+        boolean success,
+        Totals total,
+        List<ClientTotals> byClient,
+        Map<String, Totals> byStatus,
+        Map<String, Totals> byPaymentMethod,
+        Map<LocalDate, Totals> byDay) implements ApiResponse {
+
+    public record ClientTotals(Long clientId, String clientName, long count, BigDecimal revenue) {
+    }
+}
@@ -0,0 +1,19 @@
+package dev.ivy.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only row of the orders list, built directly by the query with the client
+ * name joined in, so no entities or lazy associations are involved.
+ */
+public record OrderSummary(
+        Long id,
+        LocalDate orderDate,
+        String clientName,
+        Integer type,
+        String paymentMethod,
+        String expedition,
+        BigDecimal price,
+        String status) {
+}
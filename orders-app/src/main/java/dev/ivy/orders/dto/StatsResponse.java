@@ -0,0 +1,16 @@
+package dev.ivy.orders.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+
+import java.util.Map;
+
+/**
+ * Operational counters (cache, pool) keyed by section name, e.g. {"success":true,"cache":{...}}.
+ * These endpoints are not hot, so the sections stay maps.
+ */
+public record StatsResponse(boolean success, @JsonAnyGetter Map<String, Object> sections) implements ApiResponse {
+
+    public static StatsResponse of(String section, Object stats) {
+        return new StatsResponse(true, Map.of(section, stats));
+    }
+}
@@ -0,0 +1,6 @@
+package dev.ivy.orders.dto;
+
+import java.util.List;
+
+public record UserListResponse(boolean success, List<UserView> users) implements ApiResponse {
+}
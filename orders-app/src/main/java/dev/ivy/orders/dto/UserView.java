@@ -0,0 +1,15 @@
+package dev.ivy.orders.dto;
+
+import dev.ivy.orders.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Public fields of a user; never includes the password hash.
+ */
+public record UserView(Long id, String username, String role, LocalDateTime createdAt) {
+
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getRole(), user.getCreatedAt());
+    }
+}
@@ -7,11 +7,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    // Each list filter leads one index; (order_date, id) trails so filtered pages and cursors stay range scans
+    @Index(name = "idx_orders_client_date", columnList = "client_id, order_date, id"),
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date, id"),
+    @Index(name = "idx_orders_payment_date", columnList = "payment_method, order_date, id"),
+    @Index(name = "idx_orders_expedition_date", columnList = "expedition, order_date, id"),
+    @Index(name = "idx_orders_type_date", columnList = "type, order_date, id"),
+    @Index(name = "idx_orders_date", columnList = "order_date, id"),
+    @Index(name = "idx_orders_price", columnList = "price, id")
+})
 public class Order {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "product_name", nullable = false, length = 100)
@@ -86,6 +97,21 @@ public class Order {
         this.client = client;
     }
     
+    // Request bodies reference the client by id; the association itself is never serialized
+    public Long getClientId() {
+        return client != null ? client.getId() : null;
+    }
+    
+    public void setClientId(Long clientId) {
+        if (clientId == null) {
+            this.client = null;
+        } else {
+            Client reference = new Client();
+            reference.setId(clientId);
+            this.client = reference;
+        }
+    }
+    
     // Add a method to get client name for JSON serialization
     public String getClientName() {
         return client != null ? client.getName() : null;
@@ -0,0 +1,73 @@
+package dev.ivy.orders.jfr;
+
+import dev.ivy.orders.config.SqlRequestStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Emits a {@link ControllerInvocationEvent} per request to the handlers it is registered
+ * for. The event is kept in a request attribute, so an async handler (login, register) is
+ * one event from the first dispatch to the one that writes the result. The body is
+ * written before {@code postHandle}, which therefore ends the serialization time started
+ * by {@link #serializing}.
+ */
+public class ControllerEventInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String EVENT = ControllerEventInterceptor.class.getName() + ".event";
+    private static final String SERIALIZATION_START = ControllerEventInterceptor.class.getName() + ".serializationStart";
+
+    // Called right before the response body is encoded, by the body advice or the response cache
+    public static void serializing(HttpServletRequest request) {
+        if (request.getAttribute(EVENT) != null) {
+            request.setAttribute(SERIALIZATION_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(EVENT) == null) {
+            ControllerInvocationEvent event = new ControllerInvocationEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                request.setAttribute(EVENT, event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (request.getAttribute(EVENT) instanceof ControllerInvocationEvent event
+                && request.getAttribute(SERIALIZATION_START) instanceof Long start) {
+            event.serializationTime = System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT) instanceof ControllerInvocationEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT);
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (handler instanceof HandlerMethod method) {
+                event.handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            }
+            event.status = response.getStatus();
+            // Only the request thread is counted; an async dispatch reports no statements
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                event.statements = stats.statements();
+                event.rows = stats.rows();
+            }
+            event.commit();
+        }
+    }
+}
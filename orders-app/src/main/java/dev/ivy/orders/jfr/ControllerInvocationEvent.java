@@ -0,0 +1,40 @@
+package dev.ivy.orders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("dev.ivy.orders.ControllerInvocation")
+@Label("Controller Invocation")
+@Category({"Orders", "Web"})
+@Description("An OrderController, ClientController or AuthController request, from the first dispatch until the response is written")
+@StackTrace(false)
+class ControllerInvocationEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("HTTP method and path pattern, e.g. GET /api/orders/{id}")
+    String endpoint;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Status")
+    int status;
+
+    @Label("SQL Statements")
+    @Description("Statements executed on the request thread (0 with orders.sql.tracking.enabled=false)")
+    int statements;
+
+    @Label("Rows")
+    @Description("Rows fetched or written by those statements")
+    long rows;
+
+    @Label("Serialization Time")
+    @Description("Encoding and writing the response body")
+    @Timespan(Timespan.NANOSECONDS)
+    long serializationTime;
+}
@@ -0,0 +1,17 @@
+package dev.ivy.orders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.ivy.orders.PasswordVerification")
+@Label("Password Verification")
+@Category({"Orders", "Security"})
+@StackTrace(false)
+class PasswordVerificationEvent extends Event {
+
+    @Label("Matched")
+    boolean matched;
+}
@@ -0,0 +1,39 @@
+package dev.ivy.orders.jfr;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Emits a {@link PasswordVerificationEvent} around every {@code matches}, i.e. every BCrypt
+ * verification on login.
+ */
+public class RecordingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public RecordingPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordVerificationEvent event = new PasswordVerificationEvent();
+        event.begin();
+        boolean matched = delegate.matches(rawPassword, encodedPassword);
+        event.end();
+        if (event.shouldCommit()) {
+            event.matched = matched;
+            event.commit();
+        }
+        return matched;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
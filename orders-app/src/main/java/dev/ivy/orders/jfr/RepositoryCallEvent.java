@@ -0,0 +1,27 @@
+package dev.ivy.orders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.ivy.orders.RepositoryCall")
+@Label("Repository Call")
+@Category({"Orders", "Persistence"})
+@Description("A Spring Data repository method, including its transaction")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Query")
+    @Description("Repository method name, e.g. findSummaries")
+    String query;
+
+    @Label("Rows")
+    @Description("Elements returned: list size, page size, 0 or 1 for an Optional; -1 for streams")
+    long rows;
+}
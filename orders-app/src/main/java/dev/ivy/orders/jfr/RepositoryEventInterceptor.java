@@ -0,0 +1,57 @@
+package dev.ivy.orders.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Advice added to the Spring Data repository proxies that emits a {@link RepositoryCallEvent}
+ * per call. Calls that throw are not recorded.
+ */
+public class RepositoryEventInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryEventInterceptor(String repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = invocation.proceed();
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = repository;
+            event.query = invocation.getMethod().getName();
+            event.rows = rows(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        // Rows of a stream are read after the call returns
+        return result instanceof Stream<?> ? -1 : 1;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.ivy.orders.jfr;
+
+import dev.ivy.orders.controller.AuthController;
+import dev.ivy.orders.controller.ClientController;
+import dev.ivy.orders.controller.OrderController;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Marks where the message converter takes over, for the controller event's serialization time
+@ControllerAdvice(assignableTypes = {OrderController.class, ClientController.class, AuthController.class})
+public class SerializationStartAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            ControllerEventInterceptor.serializing(servletRequest.getServletRequest());
+        }
+        return body;
+    }
+}
@@ -1,13 +1,23 @@
 package dev.ivy.orders.repository;
 
+import dev.ivy.orders.dto.ClientCode;
 import dev.ivy.orders.entity.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByCode(String code);
     boolean existsByCode(String code);
-} 
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT new dev.ivy.orders.dto.ClientCode(c.id, c.code) FROM Client c")
+    List<ClientCode> findAllCodes();
+}
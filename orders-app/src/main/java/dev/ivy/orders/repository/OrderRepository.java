@@ -1,15 +1,49 @@
 package dev.ivy.orders.repository;
 
+import dev.ivy.orders.dto.OrderCountRow;
+import dev.ivy.orders.dto.OrderRollupRow;
 import dev.ivy.orders.entity.Order;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     // Basic CRUD operations are automatically provided by JpaRepository
     
-    // Find orders by client ID with pagination
-    Page<Order> findByClientId(Long clientId, Pageable pageable);
-} 
\ No newline at end of file
+    // Entity reads that serialize clientName fetch the client eagerly (open-in-view is off)
+    @EntityGraph(attributePaths = "client")
+    Optional<Order> findWithClientById(Long id);
+
+    // Read-modify-write: holds the row lock until commit, so concurrent updates of one order queue up
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Order> findForUpdateById(Long id);
+
+    @EntityGraph(attributePaths = "client")
+    @Query("SELECT o FROM Order o")
+    List<Order> findAllWithClient();
+
+    // Stats backfill: id bounds to split the table into slices, then one grouped scan per slice
+    @Query("SELECT MIN(o.id) FROM Order o")
+    Long findMinId();
+
+    @Query("SELECT MAX(o.id) FROM Order o")
+    Long findMaxId();
+
+    @Query("SELECT new dev.ivy.orders.dto.OrderRollupRow(o.client.id, o.status, o.paymentMethod, o.orderDate, COUNT(o), SUM(o.price * o.quantity)) " +
+           "FROM Order o WHERE o.id BETWEEN :fromId AND :toId " +
+           "GROUP BY o.client.id, o.status, o.paymentMethod, o.orderDate")
+    List<OrderRollupRow> rollupBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Reconciliation source for the in-memory (client, status) counts
+    @Query("SELECT new dev.ivy.orders.dto.OrderCountRow(o.client.id, o.status, COUNT(o)) " +
+           "FROM Order o GROUP BY o.client.id, o.status")
+    List<OrderCountRow> countByClientAndStatus();
+}
@@ -0,0 +1,28 @@
+package dev.ivy.orders.repository;
+
+import dev.ivy.orders.dto.OrderCursor;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    // Offset page of list projections matching the filter, with a count query for the total
+    Page<OrderSummary> findSummaries(OrderFilter filter, Pageable pageable);
+
+    // Same, but the total comes from the supplier (only called when the page alone can't tell it)
+    Page<OrderSummary> findSummaries(OrderFilter filter, Pageable pageable, LongSupplier total);
+
+    // Keyset page ordered by (orderDate DESC, id DESC); no count query is issued
+    List<OrderSummary> findPageAfter(OrderFilter filter, OrderCursor after, int limit);
+
+    long count(OrderFilter filter);
+
+    // Forward-only cursor over every matching row in id order; must be consumed inside a transaction
+    Stream<OrderSummary> streamSummaries(OrderFilter filter, int fetchSize);
+}
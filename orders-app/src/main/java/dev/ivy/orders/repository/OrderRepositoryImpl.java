@@ -0,0 +1,176 @@
+package dev.ivy.orders.repository;
+
+import dev.ivy.orders.dto.OrderCursor;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<OrderSummary> findSummaries(OrderFilter filter, Pageable pageable) {
+        return findSummaries(filter, pageable, () -> count(filter));
+    }
+
+    @Override
+    public Page<OrderSummary> findSummaries(OrderFilter filter, Pageable pageable, LongSupplier total) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, Client> client = clientOf(order);
+
+        query.select(summaryOf(cb, order, client))
+                .where(predicatesFor(cb, order, filter).toArray(new Predicate[0]));
+        if (pageable.getSort().isSorted()) {
+            List<jakarta.persistence.criteria.Order> orderBy = new ArrayList<>();
+            for (Sort.Order sortOrder : pageable.getSort()) {
+                orderBy.add(sortOrder.isAscending()
+                        ? cb.asc(order.get(sortOrder.getProperty()))
+                        : cb.desc(order.get(sortOrder.getProperty())));
+            }
+            query.orderBy(orderBy);
+        }
+
+        List<OrderSummary> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Skips the count when the page itself shows the total (first or last page)
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public List<OrderSummary> findPageAfter(OrderFilter filter, OrderCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, Client> client = clientOf(order);
+
+        List<Predicate> predicates = predicatesFor(cb, order, filter);
+        if (after != null) {
+            // (orderDate, id) < (cursor.orderDate, cursor.id)
+            predicates.add(cb.or(
+                    cb.lessThan(order.get("orderDate"), after.orderDate()),
+                    cb.and(
+                            cb.equal(order.get("orderDate"), after.orderDate()),
+                            cb.lessThan(order.get("id"), after.id()))));
+        }
+
+        query.select(summaryOf(cb, order, client))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(order.get("orderDate")), cb.desc(order.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long count(OrderFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+
+        query.select(cb.count(order))
+                .where(predicatesFor(cb, order, filter).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Stream<OrderSummary> streamSummaries(OrderFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, Client> client = clientOf(order);
+
+        query.select(summaryOf(cb, order, client))
+                .where(predicatesFor(cb, order, filter).toArray(new Predicate[0]))
+                .orderBy(cb.asc(order.get("id")));
+
+        // Projections are never managed, so the persistence context stays empty however many rows pass through
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // client_id is NOT NULL, so the outer join returns the same rows as an inner one; it keeps orders
+    // as the driving table, where an inner join let H2 start from clients and sort every order
+    private static Join<Order, Client> clientOf(Root<Order> order) {
+        return order.join("client", JoinType.LEFT);
+    }
+
+    // Filters reference columns directly (client_id, not a join) so they line up with the indexes on orders
+    private static List<Predicate> predicatesFor(CriteriaBuilder cb, Root<Order> order, OrderFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+        if (filter.getClientId() != null) {
+            predicates.add(cb.equal(order.get("client").get("id"), filter.getClientId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), filter.getStatus()));
+        }
+        if (filter.getPaymentMethod() != null) {
+            predicates.add(cb.equal(order.get("paymentMethod"), filter.getPaymentMethod()));
+        }
+        if (filter.getExpedition() != null) {
+            predicates.add(cb.equal(order.get("expedition"), filter.getExpedition()));
+        }
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(order.get("type"), filter.getType()));
+        }
+        if (filter.getDateFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("orderDate"), filter.getDateFrom()));
+        }
+        if (filter.getDateTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("orderDate"), filter.getDateTo()));
+        }
+        if (filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("price"), filter.getMaxPrice()));
+        }
+        return predicates;
+    }
+
+    private static CompoundSelection<OrderSummary> summaryOf(
+            CriteriaBuilder cb, Root<Order> order, Join<Order, Client> client) {
+        return cb.construct(OrderSummary.class,
+                order.get("id"),
+                order.get("orderDate"),
+                client.get("name"),
+                order.get("type"),
+                order.get("paymentMethod"),
+                order.get("expedition"),
+                order.get("price"),
+                order.get("status"));
+    }
+}
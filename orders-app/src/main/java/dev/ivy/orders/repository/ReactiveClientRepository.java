@@ -0,0 +1,43 @@
+package dev.ivy.orders.repository;
+
+import dev.ivy.orders.entity.Client;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC reads of the {@code clients} table for the reactive API.
+ */
+@Repository
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveClientRepository {
+
+    private static final String SELECT = "SELECT id, name, code, city FROM clients";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<Client> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .map(ReactiveClientRepository::clientOf)
+                .all();
+    }
+
+    public Mono<Client> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveClientRepository::clientOf)
+                .one();
+    }
+
+    private static Client clientOf(Readable row) {
+        Client client = new Client(row.get("name", String.class), row.get("code", String.class),
+                row.get("city", String.class));
+        client.setId(row.get("id", Long.class));
+        return client;
+    }
+}
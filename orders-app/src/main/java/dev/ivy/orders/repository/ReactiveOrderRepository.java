@@ -0,0 +1,145 @@
+package dev.ivy.orders.repository;
+
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * R2DBC reads of the {@code orders} table for the reactive API: the same summary rows,
+ * filters and sort columns as {@link OrderRepositoryImpl}, written as SQL over
+ * {@link DatabaseClient} since JPA has no non-blocking counterpart.
+ */
+@Repository
+@ConditionalOnProperty(name = "orders.reactive.enabled", havingValue = "true")
+public class ReactiveOrderRepository {
+
+    private static final String SUMMARY_SELECT = "SELECT o.id, o.order_date, c.name AS client_name, o.type, "
+            + "o.payment_method, o.expedition, o.price, o.status FROM orders o LEFT JOIN clients c ON c.id = o.client_id";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "o.id", "orderDate", "o.order_date", "price", "o.price");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<OrderSummary> findSummaries(OrderFilter filter, Sort sort, int limit, long offset) {
+        Where where = Where.of(filter);
+        String sql = SUMMARY_SELECT + where.sql() + orderBy(sort) + " LIMIT :limit OFFSET :offset";
+        return where.bindTo(databaseClient.sql(sql))
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveOrderRepository::summaryOf)
+                .all();
+    }
+
+    // Rows are pulled as the subscriber requests them, so a slow reader holds back the query
+    public Flux<OrderSummary> streamSummaries(OrderFilter filter) {
+        Where where = Where.of(filter);
+        return where.bindTo(databaseClient.sql(SUMMARY_SELECT + where.sql()))
+                .map(ReactiveOrderRepository::summaryOf)
+                .all();
+    }
+
+    public Mono<Long> count(OrderFilter filter) {
+        Where where = Where.of(filter);
+        return where.bindTo(databaseClient.sql("SELECT COUNT(*) FROM orders o" + where.sql()))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Order> findWithClientById(Long id) {
+        return databaseClient.sql("SELECT o.id, o.product_name, o.quantity, o.price, o.order_date, o.type, "
+                        + "o.payment_method, o.expedition, o.status, o.created_at, "
+                        + "c.id AS client_id, c.name AS client_name, c.code AS client_code, c.city AS client_city "
+                        + "FROM orders o LEFT JOIN clients c ON c.id = o.client_id WHERE o.id = :id")
+                .bind("id", id)
+                .map(ReactiveOrderRepository::orderOf)
+                .one();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            orderBy.add(SORT_COLUMNS.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orderBy.toString();
+    }
+
+    private static OrderSummary summaryOf(Readable row) {
+        return new OrderSummary(
+                row.get("id", Long.class),
+                row.get("order_date", LocalDate.class),
+                row.get("client_name", String.class),
+                row.get("type", Integer.class),
+                row.get("payment_method", String.class),
+                row.get("expedition", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("status", String.class));
+    }
+
+    private static Order orderOf(Readable row) {
+        Client client = new Client(row.get("client_name", String.class), row.get("client_code", String.class),
+                row.get("client_city", String.class));
+        client.setId(row.get("client_id", Long.class));
+        Order order = new Order(row.get("product_name", String.class), client, row.get("quantity", Integer.class),
+                row.get("price", BigDecimal.class), row.get("order_date", LocalDate.class));
+        order.setId(row.get("id", Long.class));
+        order.setType(row.get("type", Integer.class));
+        order.setPaymentMethod(row.get("payment_method", String.class));
+        order.setExpedition(row.get("expedition", String.class));
+        order.setStatus(row.get("status", String.class));
+        order.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        return order;
+    }
+
+    // WHERE clause and its named parameters, mirroring OrderRepositoryImpl.predicatesFor
+    private record Where(String sql, Map<String, Object> parameters) {
+
+        static Where of(OrderFilter filter) {
+            StringJoiner sql = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            if (filter != null) {
+                add(sql, parameters, "o.client_id = :clientId", "clientId", filter.getClientId());
+                add(sql, parameters, "o.status = :status", "status", filter.getStatus());
+                add(sql, parameters, "o.payment_method = :paymentMethod", "paymentMethod", filter.getPaymentMethod());
+                add(sql, parameters, "o.expedition = :expedition", "expedition", filter.getExpedition());
+                add(sql, parameters, "o.type = :type", "type", filter.getType());
+                add(sql, parameters, "o.order_date >= :dateFrom", "dateFrom", filter.getDateFrom());
+                add(sql, parameters, "o.order_date <= :dateTo", "dateTo", filter.getDateTo());
+                add(sql, parameters, "o.price >= :minPrice", "minPrice", filter.getMinPrice());
+                add(sql, parameters, "o.price <= :maxPrice", "maxPrice", filter.getMaxPrice());
+            }
+            return new Where(sql.toString(), parameters);
+        }
+
+        private static void add(StringJoiner sql, Map<String, Object> parameters, String condition, String name, Object value) {
+            if (value != null) {
+                sql.add(condition);
+                parameters.put(name, value);
+            }
+        }
+
+        DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient.GenericExecuteSpec spec) {
+            return spec.bindValues(parameters);
+        }
+    }
+}
@@ -1,48 +1,152 @@
 package dev.ivy.orders.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import dev.ivy.orders.entity.Client;
 import dev.ivy.orders.repository.ClientRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Client reads go through bounded in-process caches (by id, by code and the full list);
+ * every write through this service invalidates the affected entries. Cached clients are
+ * shared, detached instances and must be treated as read-only.
+ */
 @Service
 public class ClientService {
 
+    private static final String ALL_CLIENTS = "all";
+
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${orders.cache.clients.max-size:10000}")
+    private long maxSize;
+
+    @Value("${orders.cache.clients.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Long, Client> clientsById;
+
+    private Cache<String, Client> clientsByCode;
+
+    private Cache<String, List<Client>> allClients;
+
+    @PostConstruct
+    void buildCaches() {
+        clientsById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        clientsByCode = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        allClients = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).recordStats().build();
+    }
+
     public List<Client> getAllClients() {
-        return clientRepository.findAll();
+        return allClients.get(ALL_CLIENTS, key -> List.copyOf(clientRepository.findAll()));
     }
 
     public Optional<Client> getClientById(Long id) {
-        return clientRepository.findById(id);
+        // Misses are not cached: a null mapping result leaves the entry absent
+        return Optional.ofNullable(clientsById.get(id, key -> clientRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<Client> getClientByCode(String code) {
+        return Optional.ofNullable(clientsByCode.get(code, key -> clientRepository.findByCode(key).orElse(null)));
+    }
+
+    public boolean existsByCode(String code) {
+        return getClientByCode(code).isPresent();
     }
 
     public Client createClient(Client client) {
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        evict(savedClient.getId(), savedClient.getCode());
+        return savedClient;
     }
 
     public Client updateClient(Long id, Client clientDetails) {
+        // Always load a fresh instance: cached clients are shared and must not be mutated
         Optional<Client> optionalClient = clientRepository.findById(id);
         if (optionalClient.isPresent()) {
             Client client = optionalClient.get();
+            String previousCode = client.getCode();
             client.setName(clientDetails.getName());
             client.setCode(clientDetails.getCode());
             client.setCity(clientDetails.getCity());
-            return clientRepository.save(client);
+            Client savedClient = clientRepository.save(client);
+            evict(id, previousCode);
+            evict(id, savedClient.getCode());
+            return savedClient;
         }
         throw new RuntimeException("Client not found with id: " + id);
     }
 
     public void deleteClient(Long id) {
+        Optional<Client> client = getClientById(id);
         clientRepository.deleteById(id);
+        evict(id, client.map(Client::getCode).orElse(null));
+        // The client's orders were removed by cascade, outside the order change events
+        eventPublisher.publishEvent(new OrdersReloadedEvent());
     }
 
     public boolean existsById(Long id) {
-        return clientRepository.existsById(id);
+        return getClientById(id).isPresent();
+    }
+
+    // For writes that bypass this service (CSV import, seeding, bulk deletes)
+    public void evictAll() {
+        clientsById.invalidateAll();
+        clientsByCode.invalidateAll();
+        invalidateAllClients();
+        dataVersionService.bump(DataVersionService.Dataset.CLIENTS);
+    }
+
+    public Map<String, Map<String, Object>> cacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("byId", describe(clientsById.stats(), clientsById.estimatedSize()));
+        stats.put("byCode", describe(clientsByCode.stats(), clientsByCode.estimatedSize()));
+        stats.put("all", describe(allClients.stats(), allClients.estimatedSize()));
+        return stats;
+    }
+
+    private void evict(Long id, String code) {
+        if (id != null) {
+            clientsById.invalidate(id);
+        }
+        if (code != null) {
+            clientsByCode.invalidate(code);
+        }
+        invalidateAllClients();
+        dataVersionService.bump(DataVersionService.Dataset.CLIENTS);
+    }
+
+    // By key, not invalidateAll(): that skips a list load still in progress, which would then
+    // cache rows read before the write. invalidate() waits for that load and drops its result.
+    private void invalidateAllClients() {
+        allClients.invalidate(ALL_CLIENTS);
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", size);
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictionCount", stats.evictionCount());
+        return description;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,269 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.dto.ClientCode;
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streams CSV files of clients or orders into the database. Records are parsed one at a time
+ * and written in chunks, each chunk in its own transaction with JDBC batching. When a chunk
+ * fails the import stops and reports the row to resume from; rows before it stay committed.
+ */
+@Service
+public class CsvImportService {
+
+    private static final List<String> CLIENT_COLUMNS = List.of("name", "code", "city");
+
+    private static final List<String> ORDER_COLUMNS = List.of("clientCode", "productName", "quantity", "price", "orderDate");
+
+    // Only the first errors are reported back; the counts always cover every row
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${orders.import.chunk-size:5000}")
+    private int chunkSize;
+
+    public record RowError(long row, String message) {
+    }
+
+    /**
+     * @param resumeFrom number of data rows to skip, as returned by a previous import that stopped on a failed chunk;
+     *                   null when the whole file was processed
+     */
+    public record Result(long processed, long inserted, long skipped, long failed, List<RowError> errors, Long resumeFrom) {
+    }
+
+    // name,code,city — rows whose code already exists (in the database or earlier in the file) are skipped
+    public Result importClients(InputStream in, long resumeFrom) throws IOException {
+        Set<String> codes = new HashSet<>(loadClientCodes().keySet());
+        try {
+            return importRows(in, resumeFrom, CLIENT_COLUMNS, (record, columns) -> {
+                Client client = new Client(
+                        value(record, columns, "name"),
+                        value(record, columns, "code"),
+                        value(record, columns, "city"));
+                if (client.getName() == null || client.getCode() == null || client.getCity() == null) {
+                    throw new IllegalArgumentException("name, code and city are required");
+                }
+                // add() also catches duplicates later in the same file
+                return codes.add(client.getCode()) ? client : null;
+            });
+        } finally {
+            clientService.evictAll();
+        }
+    }
+
+    // clientCode,productName,quantity,price,orderDate[,type,paymentMethod,expedition,status]
+    public Result importOrders(InputStream in, long resumeFrom) throws IOException {
+        Map<String, Long> codes = loadClientCodes();
+        return importRows(in, resumeFrom, ORDER_COLUMNS, (record, columns) -> {
+            String clientCode = value(record, columns, "clientCode");
+            Long clientId = codes.get(clientCode);
+            if (clientId == null) {
+                throw new IllegalArgumentException("Unknown client code: " + clientCode);
+            }
+
+            Order order = new Order(
+                    value(record, columns, "productName"),
+                    null,
+                    parse(value(record, columns, "quantity"), Integer::valueOf),
+                    parse(value(record, columns, "price"), BigDecimal::new),
+                    parse(value(record, columns, "orderDate"), LocalDate::parse));
+            order.setClientId(clientId);
+            order.setType(parse(value(record, columns, "type"), Integer::valueOf));
+            order.setPaymentMethod(value(record, columns, "paymentMethod"));
+            order.setExpedition(value(record, columns, "expedition"));
+            order.setStatus(value(record, columns, "status"));
+
+            String error = OrderValidator.validate(order);
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+            return order;
+        });
+    }
+
+    // Built once per import: code -> id for every existing client
+    private Map<String, Long> loadClientCodes() {
+        Map<String, Long> codes = new HashMap<>();
+        for (ClientCode client : clientRepository.findAllCodes()) {
+            codes.put(client.code(), client.id());
+        }
+        return codes;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        // Returns the entity to insert, null to skip the row, or throws IllegalArgumentException to reject it
+        Object map(List<String> record, Map<String, Integer> columns);
+    }
+
+    private Result importRows(InputStream in, long resumeFrom, List<String> requiredColumns, RowMapper mapper) throws IOException {
+        long processed = 0;
+        long inserted = 0;
+        long skipped = 0;
+        long failed = 0;
+        List<RowError> errors = new ArrayList<>();
+
+        try (CsvReader reader = new CsvReader(in)) {
+            Map<String, Integer> columns = readHeader(reader.readRecord(), requiredColumns);
+
+            List<Object> chunk = new ArrayList<>(chunkSize);
+            long chunkStart = resumeFrom;
+            long row = 0;
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                row++;
+                if (row <= resumeFrom) {
+                    continue;
+                }
+                processed++;
+
+                try {
+                    Object entity = mapper.map(record, columns);
+                    if (entity == null) {
+                        skipped++;
+                    } else {
+                        chunk.add(entity);
+                    }
+                } catch (IllegalArgumentException e) {
+                    failed++;
+                    addError(errors, row, e.getMessage());
+                }
+
+                if (chunk.size() == chunkSize) {
+                    String error = writeChunk(chunk);
+                    if (error != null) {
+                        addError(errors, chunkStart + 1, "Chunk failed, nothing from this row on was imported: " + error);
+                        return new Result(processed, inserted, skipped, failed, errors, chunkStart);
+                    }
+                    inserted += chunk.size();
+                    chunk.clear();
+                    chunkStart = row;
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                String error = writeChunk(chunk);
+                if (error != null) {
+                    addError(errors, chunkStart + 1, "Chunk failed, nothing from this row on was imported: " + error);
+                    return new Result(processed, inserted, skipped, failed, errors, chunkStart);
+                }
+                inserted += chunk.size();
+            }
+        }
+
+        return new Result(processed, inserted, skipped, failed, errors, null);
+    }
+
+    // One transaction per chunk, flushed every jdbcBatchSize rows so the persistence context stays small
+    private String writeChunk(List<Object> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int pending = 0;
+                for (Object entity : chunk) {
+                    if (entity instanceof Order order) {
+                        order.setClient(entityManager.getReference(Client.class, order.getClientId()));
+                    }
+                    entityManager.persist(entity);
+                    if (++pending % jdbcBatchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                List<Order> orders = chunk.stream().filter(Order.class::isInstance).map(Order.class::cast).toList();
+                if (!orders.isEmpty()) {
+                    eventPublisher.publishEvent(OrderChangedEvent.inserted(orders));
+                }
+            });
+            return null;
+        } catch (RuntimeException e) {
+            return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        }
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header, List<String> requiredColumns) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : requiredColumns) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing CSV column: " + column);
+            }
+        }
+        return columns;
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value: " + value);
+        }
+    }
+
+    private static void addError(List<RowError> errors, long row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package dev.ivy.orders.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import dev.ivy.orders.entity.User;
 import dev.ivy.orders.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -17,9 +26,23 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${orders.cache.users.max-size:10000}")
+    private long maxSize;
+
+    // Kept short so role changes made outside this service still propagate quickly
+    @Value("${orders.cache.users.ttl:60s}")
+    private Duration ttl;
+
+    private Cache<String, User> usersByUsername;
+
+    @PostConstruct
+    void buildCache() {
+        usersByUsername = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = findUser(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return org.springframework.security.core.userdetails.User
@@ -28,4 +51,32 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole())))
                 .build();
     }
-} 
\ No newline at end of file
+
+    // Cached lookup shared by authentication and /api/auth/me; unknown usernames are not cached
+    public Optional<User> findUser(String username) {
+        return Optional.ofNullable(usersByUsername.get(username,
+                key -> userRepository.findByUsername(key).orElse(null)));
+    }
+
+    // Call after any write to a user (registration, role or password change)
+    public void evict(String username) {
+        usersByUsername.invalidate(username);
+    }
+
+    public void evictAll() {
+        usersByUsername.invalidateAll();
+    }
+
+    public Map<String, Object> cacheStats() {
+        CacheStats stats = usersByUsername.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", usersByUsername.estimatedSize());
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictionCount", stats.evictionCount());
+        // Average time spent in the database lookup on a miss
+        description.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return description;
+    }
+}
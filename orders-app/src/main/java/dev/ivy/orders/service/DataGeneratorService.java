@@ -0,0 +1,294 @@
+package dev.ivy.orders.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Synthetic clients and orders at production scale, written through plain JDBC batches
+ * rather than JPA. Orders are generated in slices on a fork-join pool, each slice with its
+ * own connection, transaction and random stream (derived from {@code orders.generator.seed},
+ * so a given size and seed always yields the same data whatever the parallelism).
+ * <p>
+ * The data is skewed like real traffic: a small share of hot clients receives a large share
+ * of the orders, dates lean towards the recent past, and recent orders are mostly open while
+ * old ones are mostly completed.
+ * <p>
+ * Callers evict caches and publish {@link OrdersReloadedEvent} afterwards, as with every other
+ * write that bypasses the repositories.
+ */
+@Service
+public class DataGeneratorService {
+
+    // allocationSize of the entities' sequence generators: Hibernate may hold up to one block in memory
+    private static final int ID_BLOCK = 50;
+
+    private static final List<String> CLIENT_PREFIXES = List.of("Acme", "Global", "Northwind", "Summit", "Blue River",
+            "Pioneer", "Atlas", "Evergreen", "Keystone", "Silverline", "Orion", "Harbor", "Crestview", "Nova", "Redwood");
+    private static final List<String> CLIENT_SUFFIXES = List.of("Corporation", "Industries", "Systems", "Solutions",
+            "Technologies", "Enterprises", "Logistics", "Partners", "Group", "Labs");
+    private static final List<String> CITIES = List.of("New York", "San Francisco", "Chicago", "Boston", "Seattle",
+            "Austin", "Denver", "Miami", "Atlanta", "Los Angeles", "Dallas", "Portland");
+    private static final List<String> PRODUCTS = List.of("Laptop Pro", "Office Software", "Cloud Services",
+            "Server Hardware", "Network Equipment", "Industrial Software", "Safety Equipment", "AI Development Kit",
+            "Testing Tools", "Digital Marketing Suite", "Analytics Platform", "IoT Sensors", "Machine Learning API",
+            "Smart Home Devices", "Automation Software", "Enterprise Security", "Business Intelligence", "CRM System",
+            "Backup Storage", "Support Plan");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${orders.generator.seed:42}")
+    private long seed;
+
+    // Concurrent slices, each holding a pooled connection; 0 means one per core
+    @Value("${orders.generator.parallelism:0}")
+    private int parallelism;
+
+    @Value("${orders.generator.slice-size:50000}")
+    private int sliceSize;
+
+    @Value("${orders.generator.batch-size:1000}")
+    private int batchSize;
+
+    // Order dates spread over this many days back from today, denser towards today
+    @Value("${orders.generator.days:730}")
+    private int days;
+
+    // Share of clients that are hot, and share of orders that go to them
+    @Value("${orders.generator.hot-clients:0.05}")
+    private double hotClients;
+
+    @Value("${orders.generator.hot-share:0.5}")
+    private double hotShare;
+
+    public record Result(int clients, long orders, long millis) {
+    }
+
+    /**
+     * Replaces every client and order with {@code clients} generated clients and {@code orders}
+     * generated orders. Users are left alone.
+     */
+    public Result generate(int clients, long orders) {
+        if (clients < 1 || orders < 0) {
+            throw new IllegalArgumentException("clients must be at least 1 and orders at least 0");
+        }
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            deleteClientsAndOrders(connection);
+            long firstClientId = reserveIds(connection, "clients_seq", clients) + 1;
+            insertClients(connection, firstClientId, clients);
+            long firstOrderId = reserveIds(connection, "orders_seq", orders) + 1;
+
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new OrderSlices(firstOrderId, firstClientId, clients, 0, (orders + sliceSize - 1) / sliceSize, orders));
+            } finally {
+                pool.shutdown();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Data generation failed: " + e.getMessage(), e);
+        }
+        return new Result(clients, orders, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Empties the orders, clients and users tables with bulk statements instead of loading
+     * and deleting entity by entity.
+     */
+    public void clearAll() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            deleteClientsAndOrders(connection);
+            statement.executeUpdate("DELETE FROM users");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Clearing data failed: " + e.getMessage(), e);
+        }
+    }
+
+    // orders can be truncated; clients is the target of its foreign key, so it is deleted in one statement
+    private static void deleteClientsAndOrders(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("TRUNCATE TABLE orders");
+            statement.executeUpdate("DELETE FROM clients");
+        }
+    }
+
+    /**
+     * Moves the sequence past {@code count} ids and returns the id just below them. The range
+     * starts a full block above the sequence's current value so it cannot overlap a block
+     * Hibernate already holds, and the sequence is left a block above the range for the
+     * same reason in the other direction.
+     */
+    private static long reserveIds(Connection connection, String sequence, long count) throws SQLException {
+        // MySQL has no sequences: Hibernate emulates them with a one-row table holding next_val
+        boolean table = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        long current;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(table
+                     ? "SELECT next_val FROM " + sequence
+                     : "SELECT NEXT VALUE FOR " + sequence)) {
+            rs.next();
+            current = rs.getLong(1);
+        }
+        long base = current + ID_BLOCK;
+        long restart = base + count + ID_BLOCK + 1;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(table
+                    ? "UPDATE " + sequence + " SET next_val = " + restart
+                    : "ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+        }
+        return base;
+    }
+
+    private void insertClients(Connection connection, long firstId, int count) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO clients (id, name, code, city) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                String prefix = CLIENT_PREFIXES.get(random.nextInt(CLIENT_PREFIXES.size()));
+                insert.setLong(1, firstId + i);
+                insert.setString(2, prefix + " " + CLIENT_SUFFIXES.get(random.nextInt(CLIENT_SUFFIXES.size())) + " " + (i + 1));
+                insert.setString(3, String.format("%.4s%06d", prefix.replace(" ", "").toUpperCase(), i + 1));
+                insert.setString(4, CITIES.get(random.nextInt(CITIES.size())));
+                insert.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Splits the slice range in halves until one slice is left, then inserts it
+    private class OrderSlices extends RecursiveAction {
+
+        private final long firstOrderId;
+        private final long firstClientId;
+        private final int clients;
+        private final long fromSlice;
+        private final long toSlice;
+        private final long orders;
+
+        OrderSlices(long firstOrderId, long firstClientId, int clients, long fromSlice, long toSlice, long orders) {
+            this.firstOrderId = firstOrderId;
+            this.firstClientId = firstClientId;
+            this.clients = clients;
+            this.fromSlice = fromSlice;
+            this.toSlice = toSlice;
+            this.orders = orders;
+        }
+
+        @Override
+        protected void compute() {
+            if (toSlice - fromSlice > 1) {
+                long middle = (fromSlice + toSlice) >>> 1;
+                invokeAll(new OrderSlices(firstOrderId, firstClientId, clients, fromSlice, middle, orders),
+                        new OrderSlices(firstOrderId, firstClientId, clients, middle, toSlice, orders));
+            } else if (toSlice > fromSlice) {
+                try {
+                    insertSlice(fromSlice);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Inserting order slice " + fromSlice + " failed: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        private void insertSlice(long slice) throws SQLException {
+            long from = slice * sliceSize;
+            long to = Math.min(orders, from + sliceSize);
+            // Fixed per slice, so the rows do not depend on which thread runs it or when
+            SplittableRandom random = new SplittableRandom(seed ^ (slice + 1) * 0x9E3779B97F4A7C15L);
+            int hot = Math.max(1, (int) Math.ceil(clients * hotClients));
+            LocalDate today = LocalDate.now();
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO orders (id, product_name, client_id, quantity, price, order_date, type, " +
+                         "payment_method, expedition, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                connection.setAutoCommit(false);
+                try {
+                    for (long i = from; i < to; i++) {
+                        int client = random.nextDouble() < hotShare || hot >= clients
+                                ? random.nextInt(hot)
+                                : hot + random.nextInt(clients - hot);
+                        // Squaring a uniform draw puts half the orders in the most recent quarter of the range
+                        double u = random.nextDouble();
+                        int age = (int) (days * u * u);
+                        LocalDate orderDate = today.minusDays(age);
+
+                        insert.setLong(1, firstOrderId + i);
+                        insert.setString(2, PRODUCTS.get(random.nextInt(PRODUCTS.size())));
+                        insert.setLong(3, firstClientId + client);
+                        insert.setInt(4, 1 + (int) Math.min(99, -Math.log(1 - random.nextDouble()) * 2));
+                        insert.setBigDecimal(5, price(random));
+                        insert.setDate(6, Date.valueOf(orderDate));
+                        insert.setInt(7, 1 + random.nextInt(3));
+                        insert.setString(8, pick(random, "CARD", 60, "BANK_TRANSFER", 25, "CASH"));
+                        insert.setString(9, pick(random, "STANDARD", 65, "EXPRESS", 25, "PRIORITY"));
+                        insert.setString(10, status(random, age));
+                        insert.setTimestamp(11, Timestamp.valueOf(orderDate.atStartOfDay().plusSeconds(random.nextInt(86_400))));
+                        insert.addBatch();
+                        if ((i - from + 1) % batchSize == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    // Log-normal around 150.00, as order values are: many small, a long tail of large ones
+    private static BigDecimal price(SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        long cents = Math.max(100, Math.min(9_999_999_999L, (long) (Math.exp(5 + gaussian) * 100)));
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Open orders are recent; past a month nearly everything is completed
+    private static String status(SplittableRandom random, int age) {
+        if (age < 7) {
+            return pick(random, "PENDING", 50, "IN_PROGRESS", 40, "COMPLETED");
+        }
+        if (age < 30) {
+            return pick(random, "PENDING", 10, "IN_PROGRESS", 30, "COMPLETED");
+        }
+        return pick(random, "PENDING", 2, "IN_PROGRESS", 3, "COMPLETED");
+    }
+
+    // first with firstPercent probability, second with secondPercent, otherwise rest
+    private static String pick(SplittableRandom random, String first, int firstPercent, String second, int secondPercent, String rest) {
+        int roll = random.nextInt(100);
+        return roll < firstPercent ? first : roll < firstPercent + secondPercent ? second : rest;
+    }
+}
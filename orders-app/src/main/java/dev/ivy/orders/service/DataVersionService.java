@@ -0,0 +1,99 @@
+package dev.ivy.orders.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Monotonic version per data set, bumped after every committed write, from which GET
+ * endpoints derive weak ETags. A client that revalidates with the current ETag gets
+ * 304 before any repository call is made. They are weak because one version backs several
+ * byte-level bodies (JSON, CBOR, Smile, gzipped or not); a strong ETag would also stop
+ * the container from compressing the response.
+ * <p>
+ * Versions live in memory, so the ETag also carries a random per-process id: a restart
+ * or a different node never reuses a version for different data.
+ */
+@Service
+public class DataVersionService {
+
+    public enum Dataset {
+        ORDERS, CLIENTS
+    }
+
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final Map<Dataset, AtomicLong> versions = new EnumMap<>(Dataset.class);
+
+    private final List<Consumer<Dataset>> bumpListeners = new CopyOnWriteArrayList<>();
+
+    public DataVersionService() {
+        for (Dataset dataset : Dataset.values()) {
+            versions.put(dataset, new AtomicLong());
+        }
+    }
+
+    public void bump(Dataset dataset) {
+        versions.get(dataset).incrementAndGet();
+        bumpListeners.forEach(listener -> listener.accept(dataset));
+    }
+
+    // Called after each bump, once the derived counts and rollups are up to date
+    public void onBump(Consumer<Dataset> listener) {
+        bumpListeners.add(listener);
+    }
+
+    // Last, after OrderCountService and OrderStatsService have applied the change: a request
+    // that sees the new version also sees the new counts and rollups
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onOrderChanged(OrderChangedEvent event) {
+        bump(Dataset.ORDERS);
+    }
+
+    @EventListener(OrdersReloadedEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onOrdersReloaded() {
+        bump(Dataset.ORDERS);
+    }
+
+    public String etag(Dataset... datasets) {
+        StringBuilder etag = new StringBuilder("W/\"").append(instanceId);
+        for (Dataset dataset : datasets) {
+            etag.append('-').append(versions.get(dataset).get());
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Evaluates If-None-Match against the given data sets. When it returns true the response is
+     * already a 304 and the handler should return null; otherwise the ETag is set for the 200.
+     * Call it before reading, so a write racing with the read can only make the ETag older than
+     * the body, never newer.
+     * <p>
+     * No Last-Modified is sent: HTTP dates have one-second resolution, so an If-Modified-Since
+     * check would answer 304 for a write made later in the same second. Only the ETag decides.
+     */
+    public boolean checkNotModified(ServletWebRequest request, Dataset... datasets) {
+        // no-cache lets browsers keep the body but makes them revalidate (and send If-None-Match) every time
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            // The same versions back the JSON, CBOR and Smile bodies; caches must keep them apart
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(etag(datasets));
+    }
+}
@@ -0,0 +1,126 @@
+package dev.ivy.orders.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One continuous JFR recording kept on disk, bounded by age and size, with the JVM's
+ * {@code orders.jfr.settings} events plus the order pipeline's own (controllers,
+ * repositories, BCrypt). After a latency spike, {@link #dump} writes just the last few
+ * minutes of it to a local file for JDK Mission Control or {@code jfr print}.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final String NAME = "orders-continuous";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    @Value("${orders.jfr.enabled:false}")
+    private boolean startOnBoot;
+
+    @Value("${orders.jfr.settings:default}")
+    private String settings;
+
+    @Value("${orders.jfr.max-age:1h}")
+    private Duration maxAge;
+
+    @Value("${orders.jfr.max-size:256MB}")
+    private DataSize maxSize;
+
+    @Value("${orders.jfr.dump-dir:${java.io.tmpdir}/orders-jfr}")
+    private Path dumpDir;
+
+    private Recording recording;
+
+    public record Dump(Path file, long bytes, Instant from, Instant to) {
+    }
+
+    @PostConstruct
+    void startOnBoot() throws IOException, ParseException {
+        if (startOnBoot) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized Map<String, Object> start() throws IOException, ParseException {
+        if (recording == null) {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName(NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSize.toBytes());
+            continuous.start();
+            recording = continuous;
+        }
+        return status();
+    }
+
+    // Discards the recorded data; dump first to keep it
+    public synchronized Map<String, Object> stop() {
+        close();
+        return status();
+    }
+
+    // Events that ended within the last {@code window}; throws IllegalStateException when nothing is recording
+    public synchronized Dump dump(Duration window) throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Files.createDirectories(dumpDir);
+        Instant to = Instant.now();
+        Instant from = to.minus(window);
+        Path file = dumpDir.resolve("orders-" + FILE_TIME.format(to) + ".jfr");
+        // The whole recording is copied first, then filtered down to the window
+        Path full = Files.createTempFile(dumpDir, "orders-", ".jfr.part");
+        try {
+            recording.dump(full);
+            try (RecordingFile events = new RecordingFile(full)) {
+                events.write(file, event -> !event.getEndTime().isBefore(from));
+            }
+        } finally {
+            Files.deleteIfExists(full);
+        }
+        return new Dump(file, Files.size(file), from, to);
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", recording != null && recording.getState() == RecordingState.RUNNING);
+        if (recording != null) {
+            status.put("name", recording.getName());
+            status.put("startTime", recording.getStartTime());
+            status.put("bytes", recording.getSize());
+        }
+        status.put("settings", settings);
+        status.put("maxAge", maxAge.toString());
+        status.put("maxSize", maxSize.toString());
+        status.put("dumpDir", dumpDir.toString());
+        return status;
+    }
+}
@@ -0,0 +1,101 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts already-validated orders through JDBC batching. Rows are written in chunks,
+ * each in its own transaction. When a chunk fails, its rows are retried one by one so
+ * only the rows the database refuses are rejected.
+ */
+@Service
+public class OrderBatchService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${orders.batch.chunk-size:1000}")
+    private int chunkSize;
+
+    public record RowError(int index, String message) {
+    }
+
+    public record Result(int inserted, List<RowError> errors) {
+    }
+
+    /**
+     * @param orders rows keyed by their index in the original request, so errors can point back at them
+     */
+    public Result insertAll(Map<Integer, Order> orders) {
+        List<Map.Entry<Integer, Order>> rows = new ArrayList<>(orders.entrySet());
+        List<RowError> errors = new ArrayList<>();
+        int inserted = 0;
+
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<Map.Entry<Integer, Order>> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(chunk));
+                inserted += chunk.size();
+            } catch (RuntimeException e) {
+                inserted += insertOneByOne(chunk, errors);
+            }
+        }
+        return new Result(inserted, errors);
+    }
+
+    private int insertOneByOne(List<Map.Entry<Integer, Order>> chunk, List<RowError> errors) {
+        int inserted = 0;
+        for (Map.Entry<Integer, Order> row : chunk) {
+            // Ids assigned by the rolled-back chunk are gone
+            row.getValue().setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(List.of(row)));
+                inserted++;
+            } catch (RuntimeException e) {
+                row.getValue().setId(null);
+                errors.add(new RowError(row.getKey(),
+                        "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        return inserted;
+    }
+
+    private void insertChunk(List<Map.Entry<Integer, Order>> chunk) {
+        int pending = 0;
+        for (Map.Entry<Integer, Order> row : chunk) {
+            Order order = row.getValue();
+            // Reference only: the client was checked up front, no select needed
+            order.setClient(entityManager.getReference(Client.class, order.getClientId()));
+            entityManager.persist(order);
+            if (++pending % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // Delivered to listeners only if this chunk commits
+        eventPublisher.publishEvent(OrderChangedEvent.inserted(chunk.stream().map(Map.Entry::getValue).toList()));
+    }
+}
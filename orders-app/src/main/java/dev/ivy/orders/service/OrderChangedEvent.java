@@ -0,0 +1,45 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.entity.Order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by every order write. Carries value snapshots of the rows as they were
+ * before and after the write, so listeners never touch the (possibly detached) entities.
+ */
+public record OrderChangedEvent(List<Fact> removed, List<Fact> added) {
+
+    /**
+     * The attributes of an order that the stats rollups group and sum by.
+     */
+    public record Fact(Long clientId, String status, String paymentMethod, LocalDate orderDate, long amountCents) {
+
+        public static Fact of(Order order) {
+            BigDecimal amount = order.getPrice().multiply(BigDecimal.valueOf(order.getQuantity()));
+            return new Fact(order.getClientId(), order.getStatus(), order.getPaymentMethod(), order.getOrderDate(),
+                    amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+        }
+    }
+
+    public static OrderChangedEvent created(Order order) {
+        return new OrderChangedEvent(List.of(), List.of(Fact.of(order)));
+    }
+
+    public static OrderChangedEvent inserted(Collection<Order> orders) {
+        return new OrderChangedEvent(List.of(), orders.stream().map(Fact::of).toList());
+    }
+
+    // Take the "before" snapshot before mutating the entity
+    public static OrderChangedEvent updated(Fact before, Order after) {
+        return new OrderChangedEvent(List.of(before), List.of(Fact.of(after)));
+    }
+
+    public static OrderChangedEvent deleted(Order order) {
+        return new OrderChangedEvent(List.of(Fact.of(order)), List.of());
+    }
+}
@@ -0,0 +1,213 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.dto.OrderCountRow;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact order counts per (client, status), kept in striped {@link LongAdder}s and adjusted
+ * after each committed write, so list totals and status tabs need no count(*) query.
+ * <p>
+ * A scheduled reconciliation recounts from the database to repair any drift (writes made
+ * outside the application, for instance). The count query runs without blocking writers;
+ * pairs written while it ran keep their live counts (see {@link RescanWindow}), so the
+ * recount never creates the drift it reports.
+ */
+@Service
+public class OrderCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCountService.class);
+
+    // Status key for orders without a status; ConcurrentHashMap rejects null keys
+    private static final String NO_STATUS = "";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final RescanWindow rescanWindow = new RescanWindow();
+
+    private volatile Counts counts = new Counts();
+
+    public record ClientCounts(long total, Map<String, Long> byStatus) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        recount(false);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onOrderChanged(OrderChangedEvent event) {
+        rescanWindow.onChanged(event, this::apply);
+    }
+
+    private void apply(OrderChangedEvent event) {
+        Counts current = counts;
+        event.removed().forEach(fact -> current.add(fact.clientId(), fact.status(), -1));
+        event.added().forEach(fact -> current.add(fact.clientId(), fact.status(), 1));
+    }
+
+    @EventListener(OrdersReloadedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onOrdersReloaded() {
+        recount(false);
+    }
+
+    // Returns the number of (client, status) pairs that had drifted
+    @Scheduled(fixedDelayString = "${orders.counts.reconcile-interval:PT5M}",
+               initialDelayString = "${orders.counts.reconcile-interval:PT5M}")
+    public long reconcile() {
+        return recount(true);
+    }
+
+    private long recount(boolean reportDrift) {
+        return rescanWindow.rescan(() -> {
+            Counts recounted = new Counts();
+            for (OrderCountRow row : orderRepository.countByClientAndStatus()) {
+                recounted.add(row.clientId(), row.status(), row.count());
+            }
+            return recounted;
+        }, swap -> {
+            Set<Pair> written = new HashSet<>();
+            for (OrderChangedEvent event : swap.concurrent()) {
+                event.removed().forEach(fact -> written.add(Pair.of(fact.clientId(), fact.status())));
+                event.added().forEach(fact -> written.add(Pair.of(fact.clientId(), fact.status())));
+            }
+            Counts current = counts;
+            long drifted = reportDrift ? current.differingKeys(swap.scanned(), written) : 0;
+            if (drifted > 0) {
+                log.warn("Order counts drifted from the database for {} (client, status) pairs; corrected", drifted);
+            }
+            counts = swap.scanned().withLive(current, written);
+            return drifted;
+        });
+    }
+
+    /**
+     * Total for a list filter, when the filter only narrows by client and/or status.
+     * Empty means the caller has to run a count query.
+     */
+    public OptionalLong countFor(OrderFilter filter) {
+        if (filter == null) {
+            return OptionalLong.of(counts.total.sum());
+        }
+        boolean countable = filter.getPaymentMethod() == null && filter.getExpedition() == null
+                && filter.getType() == null && filter.getDateFrom() == null && filter.getDateTo() == null
+                && filter.getMinPrice() == null && filter.getMaxPrice() == null
+                && (filter.getStatus() == null || !filter.getStatus().isEmpty());
+        return countable ? OptionalLong.of(counts.count(filter.getClientId(), filter.getStatus())) : OptionalLong.empty();
+    }
+
+    // Per-status counts for one client, or across all clients when clientId is null
+    public ClientCounts countsFor(Long clientId) {
+        Counts current = counts;
+        Map<String, LongAdder> byStatus = clientId == null ? current.byStatus : current.byClientAndStatus.get(clientId);
+        Map<String, Long> sorted = new TreeMap<>();
+        long total = 0;
+        if (byStatus != null) {
+            for (Map.Entry<String, LongAdder> entry : byStatus.entrySet()) {
+                long count = entry.getValue().sum();
+                if (count != 0) {
+                    sorted.put(entry.getKey().equals(NO_STATUS) ? "UNSPECIFIED" : entry.getKey(), count);
+                    total += count;
+                }
+            }
+        }
+        return new ClientCounts(total, sorted);
+    }
+
+    // A (client, status) key as stored, with NO_STATUS for orders without a status
+    private record Pair(Long clientId, String status) {
+
+        static Pair of(Long clientId, String status) {
+            return new Pair(clientId, status != null ? status : NO_STATUS);
+        }
+    }
+
+    private static final class Counts {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, LongAdder>> byClientAndStatus = new ConcurrentHashMap<>();
+
+        void add(Long clientId, String status, long delta) {
+            String statusKey = status != null ? status : NO_STATUS;
+            total.add(delta);
+            byStatus.computeIfAbsent(statusKey, key -> new LongAdder()).add(delta);
+            byClientAndStatus.computeIfAbsent(clientId, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(statusKey, key -> new LongAdder()).add(delta);
+        }
+
+        long count(Long clientId, String status) {
+            Map<String, LongAdder> statuses = clientId == null ? byStatus : byClientAndStatus.get(clientId);
+            if (statuses == null) {
+                return 0;
+            }
+            if (clientId == null && status == null) {
+                return total.sum();
+            }
+            if (status != null) {
+                LongAdder count = statuses.get(status);
+                return count != null ? count.sum() : 0;
+            }
+            return statuses.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        // Recounted figures, except for the written pairs, which take this instance's live counts
+        Counts withLive(Counts live, Set<Pair> written) {
+            Counts merged = new Counts();
+            byClientAndStatus.forEach((clientId, statuses) -> statuses.forEach((status, count) -> {
+                if (!written.contains(new Pair(clientId, status))) {
+                    merged.add(clientId, status, count.sum());
+                }
+            }));
+            for (Pair pair : written) {
+                merged.add(pair.clientId(), pair.status(), live.count(pair.clientId(), pair.status()));
+            }
+            return merged;
+        }
+
+        // Pairs in "skip" were written during the recount and are not compared
+        long differingKeys(Counts other, Set<Pair> skip) {
+            long differing = 0;
+            for (Map.Entry<Long, Map<String, LongAdder>> client : other.byClientAndStatus.entrySet()) {
+                for (Map.Entry<String, LongAdder> status : client.getValue().entrySet()) {
+                    if (skip.contains(new Pair(client.getKey(), status.getKey()))) {
+                        continue;
+                    }
+                    if (count(client.getKey(), status.getKey()) != status.getValue().sum()) {
+                        differing++;
+                    }
+                }
+            }
+            // Pairs that only exist here (their orders are gone from the database)
+            for (Map.Entry<Long, Map<String, LongAdder>> client : byClientAndStatus.entrySet()) {
+                for (Map.Entry<String, LongAdder> status : client.getValue().entrySet()) {
+                    if (status.getValue().sum() != 0 && other.count(client.getKey(), status.getKey()) == 0
+                            && !skip.contains(new Pair(client.getKey(), status.getKey()))) {
+                        differing++;
+                    }
+                }
+            }
+            return differing;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package dev.ivy.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the orders matching a filter straight from a JDBC cursor to an output stream,
+ * one row at a time, so memory stays flat regardless of the export size.
+ */
+@Service
+public class OrderExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String CSV_HEADER = "id,orderDate,clientName,type,paymentMethod,expedition,price,status";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // MySQL only streams when the URL sets useCursorFetch=true; otherwise the driver buffers the result
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public void export(OrderFilter filter, Format format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<OrderSummary> rows = orderRepository.streamSummaries(filter, fetchSize)) {
+                if (format == Format.CSV) {
+                    writeCsv(rows.iterator(), target);
+                } else {
+                    writeNdjson(rows.iterator(), target);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        out.flush();
+    }
+
+    private void writeNdjson(Iterator<OrderSummary> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        SequenceWriter sequence = objectMapper.writerFor(OrderSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        while (rows.hasNext()) {
+            sequence.write(rows.next());
+        }
+        sequence.flush();
+        writer.write('\n');
+        writer.flush();
+    }
+
+    private void writeCsv(Iterator<OrderSummary> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            OrderSummary row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(csvValue(row.orderDate()));
+            writer.write(',');
+            writer.write(csvValue(row.clientName()));
+            writer.write(',');
+            writer.write(csvValue(row.type()));
+            writer.write(',');
+            writer.write(csvValue(row.paymentMethod()));
+            writer.write(',');
+            writer.write(csvValue(row.expedition()));
+            writer.write(',');
+            writer.write(row.price() != null ? row.price().toPlainString() : "");
+            writer.write(',');
+            writer.write(csvValue(row.status()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,246 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.dto.OrderRollupRow;
+import dev.ivy.orders.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory order count and revenue (sum of price × quantity) rollups per client, status,
+ * payment method and day. Each committed write adjusts the affected groups through
+ * {@link OrderChangedEvent}, so reads cost O(groups) instead of a scan over orders.
+ * <p>
+ * {@link #rebuild()} recomputes everything from the database with grouped queries over
+ * id slices, run in parallel. It is used at startup and on {@link OrdersReloadedEvent}
+ * after bulk writes that bypass the change events.
+ * <p>
+ * Writes keep flowing during a rebuild: the scan takes no lock, and groups written while
+ * it ran keep their live figures instead of the scanned ones ({@link RescanWindow}), so no
+ * delta is lost or counted twice. A group written during a rebuild keeps any drift it
+ * already had until the next one.
+ */
+@Service
+public class OrderStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsService.class);
+
+    // ConcurrentHashMap rejects null keys; orders without a status or payment method group here
+    private static final String UNSPECIFIED = "UNSPECIFIED";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Value("${orders.stats.backfill.parallelism:0}")
+    private int parallelism;
+
+    @Value("${orders.stats.backfill.slice-size:50000}")
+    private long sliceSize;
+
+    private final RescanWindow rescanWindow = new RescanWindow();
+
+    private volatile Rollups rollups = new Rollups();
+
+    public record Totals(long count, BigDecimal revenue) {
+    }
+
+    public record Snapshot(Totals total,
+                           Map<Long, Totals> byClient,
+                           Map<String, Totals> byStatus,
+                           Map<String, Totals> byPaymentMethod,
+                           Map<LocalDate, Totals> byDay) {
+    }
+
+    @EventListener({ApplicationReadyEvent.class, OrdersReloadedEvent.class})
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuildOnStartupOrReload() {
+        rebuild();
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onOrderChanged(OrderChangedEvent event) {
+        rescanWindow.onChanged(event, this::apply);
+    }
+
+    private void apply(OrderChangedEvent event) {
+        Rollups current = rollups;
+        event.removed().forEach(fact -> current.add(fact.clientId(), fact.status(), fact.paymentMethod(),
+                fact.orderDate(), -1, -fact.amountCents()));
+        event.added().forEach(fact -> current.add(fact.clientId(), fact.status(), fact.paymentMethod(),
+                fact.orderDate(), 1, fact.amountCents()));
+    }
+
+    /**
+     * @return number of orders counted
+     */
+    public long rebuild() {
+        long start = System.nanoTime();
+        return rescanWindow.rescan(this::backfill, swap -> {
+            Rollups rebuilt = swap.scanned().withLive(rollups, Written.by(swap.concurrent()));
+            rollups = rebuilt;
+            long orders = rebuilt.total.count.sum();
+            log.info("Rebuilt order stats from {} orders in {} ms", orders, (System.nanoTime() - start) / 1_000_000);
+            return orders;
+        });
+    }
+
+    public Snapshot snapshot() {
+        Rollups current = rollups;
+        return new Snapshot(current.total.toTotals(),
+                current.toSortedMap(current.byClient, Comparator.<Long>naturalOrder()),
+                current.toSortedMap(current.byStatus, Comparator.<String>naturalOrder()),
+                current.toSortedMap(current.byPaymentMethod, Comparator.<String>naturalOrder()),
+                current.toSortedMap(current.byDay, Comparator.<LocalDate>naturalOrder()));
+    }
+
+    private Rollups backfill() {
+        Rollups rebuilt = new Rollups();
+        Long minId = orderRepository.findMinId();
+        Long maxId = orderRepository.findMaxId();
+        if (minId == null) {
+            return rebuilt;
+        }
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<OrderRollupRow>>> slices = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += sliceSize) {
+                long sliceFrom = from;
+                long sliceTo = Math.min(from + sliceSize - 1, maxId);
+                slices.add(executor.submit(() -> orderRepository.rollupBetween(sliceFrom, sliceTo)));
+            }
+            for (Future<List<OrderRollupRow>> slice : slices) {
+                for (OrderRollupRow row : slice.get()) {
+                    rebuilt.add(row.clientId(), row.status(), row.paymentMethod(), row.orderDate(),
+                            row.count(), row.amount().movePointRight(2).longValue());
+                }
+            }
+            return rebuilt;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Order stats rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Order stats rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder amountCents = new LongAdder();
+
+        void add(long orders, long cents) {
+            count.add(orders);
+            amountCents.add(cents);
+        }
+
+        Totals toTotals() {
+            return new Totals(count.sum(), BigDecimal.valueOf(amountCents.sum(), 2));
+        }
+    }
+
+    // Groups touched by writes that ran during a rebuild, keyed as in Rollups
+    private record Written(Set<Long> clients, Set<String> statuses, Set<String> paymentMethods, Set<LocalDate> days) {
+
+        static Written by(List<OrderChangedEvent> events) {
+            Written written = new Written(new HashSet<>(), new HashSet<>(), new HashSet<>(), new HashSet<>());
+            for (OrderChangedEvent event : events) {
+                event.removed().forEach(written::add);
+                event.added().forEach(written::add);
+            }
+            return written;
+        }
+
+        private void add(OrderChangedEvent.Fact fact) {
+            clients.add(fact.clientId());
+            statuses.add(fact.status() != null ? fact.status() : UNSPECIFIED);
+            paymentMethods.add(fact.paymentMethod() != null ? fact.paymentMethod() : UNSPECIFIED);
+            days.add(fact.orderDate());
+        }
+    }
+
+    private static final class Rollups {
+
+        private final Counter total = new Counter();
+        private final Map<Long, Counter> byClient = new ConcurrentHashMap<>();
+        private final Map<String, Counter> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, Counter> byPaymentMethod = new ConcurrentHashMap<>();
+        private final Map<LocalDate, Counter> byDay = new ConcurrentHashMap<>();
+
+        void add(Long clientId, String status, String paymentMethod, LocalDate day, long orders, long cents) {
+            Function<Object, Counter> newCounter = key -> new Counter();
+            total.add(orders, cents);
+            byClient.computeIfAbsent(clientId, newCounter).add(orders, cents);
+            byStatus.computeIfAbsent(status != null ? status : UNSPECIFIED, newCounter).add(orders, cents);
+            byPaymentMethod.computeIfAbsent(paymentMethod != null ? paymentMethod : UNSPECIFIED, newCounter).add(orders, cents);
+            byDay.computeIfAbsent(day, newCounter).add(orders, cents);
+        }
+
+        // These rebuilt rollups, except for the written groups, which take the live figures
+        Rollups withLive(Rollups live, Written written) {
+            Rollups merged = new Rollups();
+            merge(byClient, live.byClient, written.clients(), merged.byClient);
+            merge(byStatus, live.byStatus, written.statuses(), merged.byStatus);
+            merge(byPaymentMethod, live.byPaymentMethod, written.paymentMethods(), merged.byPaymentMethod);
+            merge(byDay, live.byDay, written.days(), merged.byDay);
+            // Every order is in exactly one client group
+            merged.byClient.values().forEach(counter -> merged.total.add(counter.count.sum(), counter.amountCents.sum()));
+            return merged;
+        }
+
+        private static <K> void merge(Map<K, Counter> rebuilt, Map<K, Counter> live, Set<K> written, Map<K, Counter> into) {
+            rebuilt.forEach((key, counter) -> {
+                if (!written.contains(key)) {
+                    into.put(key, counter);
+                }
+            });
+            for (K key : written) {
+                Counter counter = live.get(key);
+                if (counter != null) {
+                    into.computeIfAbsent(key, k -> new Counter()).add(counter.count.sum(), counter.amountCents.sum());
+                }
+            }
+        }
+
+        // Groups whose orders were all deleted or moved away are left out
+        <K> Map<K, Totals> toSortedMap(Map<K, Counter> counters, Comparator<K> order) {
+            Map<K, Totals> sorted = new LinkedHashMap<>();
+            counters.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey(order))
+                    .forEach(entry -> {
+                        Totals totals = entry.getValue().toTotals();
+                        if (totals.count() != 0) {
+                            sorted.put(entry.getKey(), totals);
+                        }
+                    });
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.entity.Order;
+
+import java.math.BigDecimal;
+
+/**
+ * Field checks shared by every order write path (single, batch and CSV import).
+ */
+public final class OrderValidator {
+
+    private OrderValidator() {
+    }
+
+    // Returns the first error message, or null when the order is valid
+    public static String validate(Order order) {
+        if (order.getClient() == null || order.getClient().getId() == null) {
+            return "Client is required";
+        }
+        if (order.getProductName() == null || order.getProductName().trim().isEmpty()) {
+            return "Product name is required";
+        }
+        if (order.getQuantity() == null || order.getQuantity() <= 0) {
+            return "Valid quantity is required";
+        }
+        if (order.getPrice() == null || order.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Valid price is required";
+        }
+        if (order.getOrderDate() == null) {
+            return "Order date is required";
+        }
+        return null;
+    }
+}
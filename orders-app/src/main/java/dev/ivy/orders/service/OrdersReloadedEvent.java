@@ -0,0 +1,8 @@
+package dev.ivy.orders.service;
+
+/**
+ * Published after bulk writes that change orders without an {@link OrderChangedEvent}
+ * (seeding, clearing, cascading client deletes), so derived counters recompute from the database.
+ */
+public record OrdersReloadedEvent() {
+}
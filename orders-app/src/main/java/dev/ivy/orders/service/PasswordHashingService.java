@@ -0,0 +1,94 @@
+package dev.ivy.orders.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work (login verification, hashing on register) on a small bounded pool so
+ * it cannot occupy Tomcat worker threads. When every thread is busy and the queue is
+ * full, {@link #submit} throws {@link RejectedExecutionException} immediately so the
+ * caller can answer 429 instead of queueing without bound.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Value("${orders.auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${orders.auth.hashing.queue-depth:64}")
+    private int queueDepth;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder workNanos = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        // BCrypt is CPU bound: default to one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueNanos.add(startedAt - submittedAt);
+                try {
+                    return work.get();
+                } finally {
+                    workNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long done = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("queueDepth", queueDepth);
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("completed", done);
+        stats.put("rejected", rejected.sum());
+        // Time waiting for a hashing thread versus time spent hashing once it had one
+        stats.put("averageQueueMillis", done == 0 ? 0.0 : queueNanos.sum() / 1_000_000.0 / done);
+        stats.put("averageHashMillis", done == 0 ? 0.0 : workNanos.sum() / 1_000_000.0 / done);
+        return stats;
+    }
+}
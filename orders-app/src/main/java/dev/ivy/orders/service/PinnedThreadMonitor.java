@@ -0,0 +1,114 @@
+package dev.ivy.orders.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches the JFR {@code jdk.VirtualThreadPinned} event: a virtual thread that blocks
+ * inside {@code synchronized} (or native code) keeps its carrier thread, and enough of
+ * those at once starve every other request. Pinning sites are counted by the first
+ * non-JDK frame (the JDBC driver, Hikari or our own code), and each new site is logged
+ * once with its stack.
+ */
+@Service
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    // Enough to tell the sites apart without letting a pathological app grow the map forever
+    private static final int MAX_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+
+    @Value("${orders.threads.pinned-threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    private final LongAdder pinned = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final Map<String, LongAdder> bySite = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        pinned.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+        String site = site(event.getStackTrace());
+        LongAdder count = bySite.get(site);
+        if (count == null && bySite.size() < MAX_SITES) {
+            count = bySite.computeIfAbsent(site, key -> {
+                log.warn("Virtual thread pinned for {} ms at {}:{}", event.getDuration().toMillis(), key,
+                        describe(event.getStackTrace()));
+                return new LongAdder();
+            });
+        }
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                    return type + "." + frame.getMethod().getName();
+                }
+            }
+        }
+        return "unknown";
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        StringBuilder frames = new StringBuilder();
+        if (stackTrace != null) {
+            stackTrace.getFrames().stream().limit(LOGGED_FRAMES).forEach(frame -> frames.append("\n\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()));
+        }
+        return frames.toString();
+    }
+
+    public Map<String, Object> stats() {
+        long count = pinned.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("thresholdMillis", threshold.toMillis());
+        stats.put("pinned", count);
+        stats.put("averagePinnedMillis", count == 0 ? 0.0 : pinnedNanos.sum() / 1_000_000.0 / count);
+        Map<String, Long> sites = new LinkedHashMap<>();
+        bySite.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue((a, b) -> Long.compare(b.sum(), a.sum())))
+                .forEach(entry -> sites.put(entry.getKey(), entry.getValue().sum()));
+        stats.put("sites", sites);
+        return stats;
+    }
+}
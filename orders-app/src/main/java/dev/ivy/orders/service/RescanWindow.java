@@ -0,0 +1,124 @@
+package dev.ivy.orders.service;
+
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lets an in-memory aggregate over orders be recomputed from the database while writes
+ * keep flowing. The scan runs without any lock. Every {@link OrderChangedEvent} that is in
+ * flight when the scan starts, or is published or completes before the swap, is handed to
+ * the swap. The swap keeps the live figures for the groups those events touch, because the
+ * scan may or may not have seen them, and takes the scanned figures for every other group.
+ * <p>
+ * Locks are held only in memory and never across a transaction: deltas take the read side
+ * for the few instructions that apply them, and the swap takes the write side.
+ */
+final class RescanWindow {
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Lock rescanLock = new ReentrantLock();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, OrderChangedEvent> inFlight = new ConcurrentHashMap<>();
+
+    // Events seen during the running rescan; null when none is running
+    private volatile Queue<OrderChangedEvent> seen;
+
+    /**
+     * Call from the {@link OrderChangedEvent} listener. {@code apply} runs once the writing
+     * transaction commits, or at once when there is none, ahead of the DataVersionService
+     * bump for the same write.
+     */
+    void onChanged(OrderChangedEvent event, Consumer<OrderChangedEvent> apply) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyAndRecord(event, apply);
+            return;
+        }
+        long id = sequence.incrementAndGet();
+        inFlight.put(id, event);
+        record(event);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        applyAndRecord(event, apply);
+                    }
+                } finally {
+                    inFlight.remove(id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs {@code scan} without blocking writers, then {@code swap} under the write lock with
+     * the events whose groups must keep their live figures. Rescans run one at a time.
+     */
+    <T, R> R rescan(Supplier<T> scan, Function<Swap<T>, R> swap) {
+        rescanLock.lock();
+        try {
+            Queue<OrderChangedEvent> events = new ConcurrentLinkedQueue<>();
+            seen = events;
+            // After publishing "seen": an event either records itself or is still listed here
+            events.addAll(inFlight.values());
+            T scanned;
+            try {
+                scanned = scan.get();
+            } catch (RuntimeException | Error e) {
+                seen = null;
+                throw e;
+            }
+            swapLock.writeLock().lock();
+            try {
+                seen = null;
+                return swap.apply(new Swap<>(scanned, new ArrayList<>(events)));
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            rescanLock.unlock();
+        }
+    }
+
+    record Swap<T>(T scanned, List<OrderChangedEvent> concurrent) {
+    }
+
+    private void applyAndRecord(OrderChangedEvent event, Consumer<OrderChangedEvent> apply) {
+        swapLock.readLock().lock();
+        try {
+            apply.accept(event);
+            record(event);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void record(OrderChangedEvent event) {
+        Queue<OrderChangedEvent> events = seen;
+        if (events != null) {
+            events.add(event);
+        }
+    }
+}
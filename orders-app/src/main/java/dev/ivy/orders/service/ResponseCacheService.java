@@ -0,0 +1,201 @@
+package dev.ivy.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.ivy.orders.jfr.ControllerEventInterceptor;
+import dev.ivy.orders.service.DataVersionService.Dataset;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded cache of fully encoded bodies (plus a gzipped copy) for hot GET endpoints,
+ * one entry per negotiated format (JSON, CBOR or Smile). A hit is copied straight to the
+ * servlet output stream, skipping both the envelope and Jackson.
+ * <p>
+ * Keys carry the data-set versions from {@link DataVersionService}, so an entry can never
+ * be served after a write. A write does not touch the cache: entries under old versions
+ * are never read again and leave through size eviction or {@code orders.cache.responses.ttl}.
+ */
+@Service
+public class ResponseCacheService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${orders.cache.responses.enabled:true}")
+    private volatile boolean enabled;
+
+    @Value("${orders.cache.responses.max-size:64MB}")
+    private DataSize maxSize;
+
+    @Value("${orders.cache.responses.gzip-min-size:1KB}")
+    private DataSize gzipMinSize;
+
+    @Value("${orders.cache.responses.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Key, Body> bodies;
+
+    // In preference order: JSON wins whenever the client accepts it as much as the others
+    private Map<MediaType, ObjectMapper> mappers;
+
+    /**
+     * Take the key before reading any data: a write that commits during the read then
+     * yields a key that is already stale, never a current key holding old data.
+     */
+    public record Key(String etag, String request, MediaType format) {
+    }
+
+    private record Body(byte[] identity, byte[] gzipped) {
+
+        int weight() {
+            return identity.length + (gzipped != null ? gzipped.length : 0);
+        }
+    }
+
+    @PostConstruct
+    void buildCache() {
+        bodies = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Body body) -> body.weight())
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        mappers = new LinkedHashMap<>();
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(cborConverter.getSupportedMediaTypes().get(0), cborConverter.getObjectMapper());
+        mappers.put(smileConverter.getSupportedMediaTypes().get(0), smileConverter.getObjectMapper());
+    }
+
+    public Key keyFor(ServletWebRequest request, Dataset... datasets) {
+        HttpServletRequest servletRequest = request.getRequest();
+        String query = servletRequest.getQueryString();
+        return new Key(dataVersionService.etag(datasets),
+                query != null ? servletRequest.getRequestURI() + "?" + query : servletRequest.getRequestURI(),
+                negotiate(request.getHeader(HttpHeaders.ACCEPT)));
+    }
+
+    // Highest-quality accepted type we can encode; anything unparseable or unsupported gets JSON
+    private MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType format : mappers.keySet()) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * @return true when the body was written from the cache and the handler should return null
+     */
+    public boolean writeCached(ServletWebRequest request, Key key) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+        Body body = bodies.getIfPresent(key);
+        if (body == null) {
+            return false;
+        }
+        write(request, key, body);
+        return true;
+    }
+
+    // Encodes the envelope once, caches it under the key and writes it; the handler returns null afterwards
+    public void writeAndCache(ServletWebRequest request, Key key, Object envelope) throws IOException {
+        ControllerEventInterceptor.serializing(request.getRequest());
+        byte[] identity = mappers.get(key.format()).writeValueAsBytes(envelope);
+        Body body = new Body(identity, identity.length >= gzipMinSize.toBytes() ? gzip(identity) : null);
+        if (enabled) {
+            bodies.put(key, body);
+        }
+        write(request, key, body);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            bodies.invalidateAll();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", bodies.estimatedSize());
+        stats.put("bytes", bodies.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        stats.put("hitRate", bodies.stats().hitRate());
+        stats.put("evictionCount", bodies.stats().evictionCount());
+        return stats;
+    }
+
+    private static void write(ServletWebRequest request, Key key, Body body) throws IOException {
+        HttpServletResponse response = request.getResponse();
+        byte[] bytes = body.identity();
+        response.setContentType(key.format().toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzipped() != null && acceptsGzip(request)) {
+            bytes = body.gzipped();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private static boolean acceptsGzip(ServletWebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip") && !acceptEncoding.contains("gzip;q=0");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
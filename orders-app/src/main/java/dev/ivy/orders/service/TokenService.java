@@ -0,0 +1,159 @@
+package dev.ivy.orders.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Issues and validates compact HMAC-SHA256 bearer tokens of the form
+ * {@code <keyId>.<payload>.<signature>}, where the payload is {@code expiry:role:username}.
+ * Validation needs no database or session lookup, so any node can check any token. The
+ * role in the payload is the one at issue time: tokens are short-lived, and a role change
+ * applies once the token is refreshed ({@code POST /api/auth/refresh}) or expires.
+ * <p>
+ * Tokens are always signed with the current secret; secrets listed in
+ * {@code orders.auth.token.previous-secrets} are still accepted, which lets a secret be
+ * rotated without logging everybody out.
+ */
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public record TokenClaims(String username, String role, Instant expiresAt) {
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private final Map<String, SigningKey> keysById = new LinkedHashMap<>();
+    private final SigningKey currentKey;
+    private final Duration expiration;
+
+    public TokenService(@Value("${orders.auth.token.secret}") String secret,
+                        @Value("${orders.auth.token.previous-secrets:}") List<String> previousSecrets,
+                        @Value("${orders.auth.token.expiration:15m}") Duration expiration) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("orders.auth.token.secret is not set: provide JWT_SECRET, "
+                    + "or run with the dev profile for a local secret");
+        }
+        this.currentKey = new SigningKey(secret);
+        this.expiration = expiration;
+        keysById.put(currentKey.id, currentKey);
+        for (String previous : previousSecrets) {
+            if (!previous.isBlank()) {
+                SigningKey key = new SigningKey(previous.trim());
+                keysById.putIfAbsent(key.id, key);
+            }
+        }
+    }
+
+    public IssuedToken issue(String username, String role) {
+        if (role.indexOf(':') >= 0) {
+            throw new IllegalArgumentException("Role must not contain ':'");
+        }
+        Instant expiresAt = Instant.now().plus(expiration);
+        String claims = expiresAt.getEpochSecond() + ":" + role + ":" + username;
+        String unsigned = currentKey.id + "." + ENCODER.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(unsigned + "." + ENCODER.encodeToString(currentKey.sign(unsigned)), expiresAt);
+    }
+
+    // Empty for malformed, forged, expired or unknown-key tokens; never throws
+    public Optional<TokenClaims> validate(String token) {
+        try {
+            int firstDot = token.indexOf('.');
+            int lastDot = token.lastIndexOf('.');
+            if (firstDot <= 0 || lastDot == firstDot) {
+                return Optional.empty();
+            }
+            SigningKey key = keysById.get(token.substring(0, firstDot));
+            if (key == null) {
+                return Optional.empty();
+            }
+            byte[] expected = key.sign(token.substring(0, lastDot));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(token.substring(lastDot + 1)))) {
+                return Optional.empty();
+            }
+
+            String claims = new String(DECODER.decode(token.substring(firstDot + 1, lastDot)), StandardCharsets.UTF_8);
+            String[] parts = claims.split(":", 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[0]));
+            if (expiresAt.isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(parts[2], parts[1], expiresAt));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class SigningKey {
+
+        private final String id;
+        private final SecretKeySpec spec;
+        // Mac instances are not thread-safe; reuse idle ones instead of creating one per call.
+        // Not a ThreadLocal: with virtual threads every request is a fresh thread.
+        private final Queue<Mac> idleMacs = new ConcurrentLinkedQueue<>();
+
+        SigningKey(String secret) {
+            byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("Token secrets must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+            this.spec = new SecretKeySpec(bytes, ALGORITHM);
+            this.id = keyIdOf(bytes);
+        }
+
+        byte[] sign(String data) {
+            Mac mac = idleMacs.poll();
+            if (mac == null) {
+                mac = newMac();
+            }
+            try {
+                return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            } finally {
+                idleMacs.offer(mac);
+            }
+        }
+
+        private Mac newMac() {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(spec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // Short, non-reversible id so a token names the key that signed it
+        private static String keyIdOf(byte[] secret) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret);
+                return ENCODER.encodeToString(digest).substring(0, 8);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
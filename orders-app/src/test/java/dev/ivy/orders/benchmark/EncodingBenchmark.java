@@ -0,0 +1,127 @@
+package dev.ivy.orders.benchmark;
+
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.service.OrderBatchService;
+import dev.ivy.orders.service.ResponseCacheService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bytes on the wire and server CPU per request for JSON, CBOR and Smile, each with and
+ * without gzip, on full 100-row order pages. The response cache is off so every request
+ * is encoded. CPU is summed over the Tomcat worker threads only, so the client's work is
+ * left out; every combination is warmed up before any is measured.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.jpa.show-sql=false", "logging.level.root=WARN"})
+class EncodingBenchmark {
+
+	private static final int WARMUP_REQUESTS = 2_000;
+	private static final String[] STATUSES = {"PENDING", "PROCESSING", "COMPLETED", "CANCELLED"};
+	private static final String[] PAYMENT_METHODS = {"CARD", "BANK_TRANSFER", "CASH"};
+	private static final String[] EXPEDITIONS = {"STANDARD", "EXPRESS"};
+	private static final int REQUESTS = Integer.getInteger("bench.requests", 5_000);
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ResponseCacheService responseCache;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private OrderBatchService orderBatchService;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void payloadSizeAndCpuPerEncoding() throws Exception {
+		insertOrders(500);
+		responseCache.setEnabled(false);
+		try {
+			for (boolean measure : new boolean[] {false, true, true}) {
+				for (String path : List.of("/api/orders?size=100", "/api/clients")) {
+					for (String format : List.of("application/json", "application/cbor", "application/x-jackson-smile")) {
+						for (String encoding : List.of("identity", "gzip")) {
+							HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+									.header("Accept", format)
+									.header("Accept-Encoding", encoding)
+									.build();
+							if (!measure) {
+								run(request, WARMUP_REQUESTS);
+								continue;
+							}
+							long cpuBefore = workerCpuNanos();
+							long bytes = run(request, REQUESTS);
+							long cpu = workerCpuNanos() - cpuBefore;
+							System.out.printf("[benchmark] %-22s %-28s %-8s %7d bytes/req %7.1f us server CPU/req%n",
+									path, format, encoding, bytes / REQUESTS, cpu / 1000.0 / REQUESTS);
+						}
+					}
+				}
+			}
+		} finally {
+			responseCache.setEnabled(true);
+		}
+	}
+
+	private void insertOrders(int rows) {
+		List<Client> clients = clientRepository.findAll();
+		Map<Integer, Order> orders = new LinkedHashMap<>();
+		for (int i = 0; i < rows; i++) {
+			Order order = new Order("Bench Product " + i, clients.get(i % clients.size()), 1 + i % 5,
+					new BigDecimal("19.99").add(BigDecimal.valueOf(i, 2)), LocalDate.now().minusDays(i % 365));
+			order.setStatus(STATUSES[i % STATUSES.length]);
+			order.setPaymentMethod(PAYMENT_METHODS[i % PAYMENT_METHODS.length]);
+			order.setExpedition(EXPEDITIONS[i % EXPEDITIONS.length]);
+			order.setType(1 + i % 3);
+			orders.put(i, order);
+		}
+		orderBatchService.insertAll(orders);
+	}
+
+	private long run(HttpRequest request, int requests) throws Exception {
+		long bytes = 0;
+		for (int i = 0; i < requests; i++) {
+			HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			assertEquals(200, response.statusCode());
+			bytes += response.body().length;
+		}
+		return bytes;
+	}
+
+	private static long workerCpuNanos() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long total = 0;
+		for (ThreadInfo thread : threads.getThreadInfo(threads.getAllThreadIds())) {
+			if (thread != null && thread.getThreadName().startsWith("http-nio-")) {
+				total += Math.max(threads.getThreadCpuTime(thread.getThreadId()), 0);
+			}
+		}
+		return total;
+	}
+}
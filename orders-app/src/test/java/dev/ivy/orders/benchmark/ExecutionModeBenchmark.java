@@ -0,0 +1,151 @@
+package dev.ivy.orders.benchmark;
+
+import dev.ivy.orders.OrdersAppApplication;
+import dev.ivy.orders.service.PinnedThreadMonitor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Requests/sec of GET /api/orders with platform versus virtual request threads, under many
+ * more concurrent clients than Tomcat has workers. Every connection checkout sleeps for
+ * {@code bench.db-latency-ms} while holding the connection, standing in for the round trips
+ * to a remote database that H2 in memory does not have. Each mode runs with a small and a
+ * large connection pool, in its own application context, with the response cache off.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmark {
+
+	private static final int CLIENTS = Integer.getInteger("bench.clients", 400);
+	private static final long DB_LATENCY_MILLIS = Long.getLong("bench.db-latency-ms", 50);
+	private static final Duration WARMUP = Duration.ofSeconds(3);
+	private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("bench.seconds", 10));
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	@Test
+	void platformVersusVirtualThreads() throws Exception {
+		for (int poolSize : new int[] {10, 400}) {
+			for (boolean virtual : new boolean[] {false, true}) {
+				// Command-line arguments, so they win over application.properties
+				try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrdersAppApplication.class, DatabaseLatency.class)
+						.run("--server.port=0",
+								"--spring.datasource.url=jdbc:h2:mem:bench-" + poolSize + "-" + virtual,
+								"--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+								"--spring.threads.virtual.enabled=" + virtual,
+								"--orders.cache.responses.enabled=false",
+								"--spring.jpa.show-sql=false",
+								"--logging.level.root=WARN")) {
+					int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+					URI uri = URI.create("http://localhost:" + port + "/api/orders?size=20");
+					run(uri, WARMUP);
+
+					long start = System.nanoTime();
+					long requests = run(uri, MEASURE);
+					double seconds = (System.nanoTime() - start) / 1e9;
+					System.out.printf("[benchmark] pool=%-3d %-8s %8.0f req/s %5d Tomcat platform threads%n",
+							poolSize, virtual ? "virtual" : "platform", requests / seconds, tomcatPlatformThreads());
+					context.getBeanProvider(PinnedThreadMonitor.class)
+							.ifAvailable(monitor -> System.out.println("[benchmark]   pinning " + monitor.stats()));
+				}
+			}
+		}
+	}
+
+	private long run(URI uri, Duration duration) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri).build();
+		long deadline = System.nanoTime() + duration.toNanos();
+		// Virtual client threads, so the client side never becomes the limit
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<Long>> workers = new ArrayList<>();
+			for (int i = 0; i < CLIENTS; i++) {
+				workers.add(executor.submit(() -> {
+					long count = 0;
+					while (System.nanoTime() < deadline) {
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						assertEquals(200, response.statusCode());
+						count++;
+					}
+					return count;
+				}));
+			}
+			long total = 0;
+			for (Future<Long> worker : workers) {
+				total += worker.get();
+			}
+			return total;
+		}
+	}
+
+	// Virtual request threads are not listed by the MXBean; only the acceptor and poller remain
+	private static long tomcatPlatformThreads() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		return Arrays.stream(threads.getThreadInfo(threads.getAllThreadIds()))
+				.filter(thread -> thread != null && thread.getThreadName().startsWith("http-nio-"))
+				.count();
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class DatabaseLatency {
+
+		// Declared as PriorityOrdered so it wraps the pool itself, inside the connection permits
+		@Bean
+		static DatabaseLatencyPostProcessor databaseLatencyPostProcessor() {
+			return new DatabaseLatencyPostProcessor();
+		}
+	}
+
+	static class DatabaseLatencyPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!(bean instanceof DataSource dataSource)) {
+				return bean;
+			}
+			return new DelegatingDataSource(dataSource) {
+				@Override
+				public Connection getConnection() throws SQLException {
+					Connection connection = super.getConnection();
+					try {
+						Thread.sleep(DB_LATENCY_MILLIS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return connection;
+				}
+			};
+		}
+
+		@Override
+		public int getOrder() {
+			return HIGHEST_PRECEDENCE;
+		}
+	}
+}
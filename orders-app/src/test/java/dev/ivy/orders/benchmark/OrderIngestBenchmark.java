@@ -0,0 +1,81 @@
+package dev.ivy.orders.benchmark;
+
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.OrderBatchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rows/sec of the single-insert path (one save per order, as POST /api/orders does)
+ * against OrderBatchService. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class OrderIngestBenchmark {
+
+	private static final int ROWS = Integer.getInteger("bench.rows", 20_000);
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private OrderBatchService orderBatchService;
+
+	@Test
+	void singleInsertVersusBatch() {
+		Long clientId = clientRepository.findAll().get(0).getId();
+
+		// Warm up both paths before measuring
+		insertOneByOne(clientId, 1_000);
+		insertBatch(clientId, 1_000);
+
+		long start = System.nanoTime();
+		insertOneByOne(clientId, ROWS);
+		report("single-insert", System.nanoTime() - start);
+
+		start = System.nanoTime();
+		insertBatch(clientId, ROWS);
+		report("batch", System.nanoTime() - start);
+	}
+
+	private void insertOneByOne(Long clientId, int rows) {
+		for (int i = 0; i < rows; i++) {
+			orderRepository.save(newOrder(clientId, i));
+		}
+	}
+
+	private void insertBatch(Long clientId, int rows) {
+		Map<Integer, Order> orders = new LinkedHashMap<>();
+		for (int i = 0; i < rows; i++) {
+			orders.put(i, newOrder(clientId, i));
+		}
+		orderBatchService.insertAll(orders);
+	}
+
+	private static Order newOrder(Long clientId, int i) {
+		Client client = new Client();
+		client.setId(clientId);
+		Order order = new Order("Bench Product " + i, client, 1 + i % 5, new BigDecimal("19.99"), LocalDate.now().minusDays(i % 365));
+		order.setStatus("PENDING");
+		order.setPaymentMethod("CARD");
+		return order;
+	}
+
+	private static void report(String path, long nanos) {
+		double seconds = nanos / 1_000_000_000.0;
+		System.out.printf("%-14s %,d rows in %,.0f ms -> %,.0f rows/s%n", path, ROWS, seconds * 1000, ROWS / seconds);
+	}
+}
@@ -0,0 +1,128 @@
+package dev.ivy.orders.benchmark;
+
+import dev.ivy.orders.config.ReactiveServerConfig.ReactiveServer;
+import dev.ivy.orders.service.ResponseCacheService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * GET /api/orders on the servlet API (Tomcat + JPA) versus the reactive one (Netty +
+ * R2DBC) under {@code bench.clients} concurrent connections: requests/sec, latency
+ * percentiles, and per-request allocation and thread count on each server's own threads
+ * as the memory cost of a connection. The response cache is off so both sides query.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"orders.reactive.enabled=true", "orders.reactive.port=0",
+				"spring.jpa.show-sql=false", "logging.level.root=WARN"})
+class ReactiveApiBenchmark {
+
+	private static final int CLIENTS = Integer.getInteger("bench.clients", 500);
+	private static final Duration WARMUP = Duration.ofSeconds(5);
+	private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("bench.seconds", 10));
+
+	@LocalServerPort
+	private int servletPort;
+
+	@Autowired
+	private ReactiveServer reactiveServer;
+
+	@Autowired
+	private ResponseCacheService responseCache;
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	@Test
+	void servletVersusReactive() throws Exception {
+		responseCache.setEnabled(false);
+		try {
+			measure("servlet", servletPort, "http-nio-");
+			measure("reactive", reactiveServer.getPort(), "reactor-http-");
+		} finally {
+			responseCache.setEnabled(true);
+		}
+	}
+
+	private void measure(String name, int port, String serverThreadPrefix) throws Exception {
+		URI uri = URI.create("http://localhost:" + port + "/api/orders?size=20");
+		run(uri, WARMUP);
+
+		long allocatedBefore = allocatedBytes(serverThreadPrefix);
+		long start = System.nanoTime();
+		long[] latencies = run(uri, MEASURE);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long allocated = allocatedBytes(serverThreadPrefix) - allocatedBefore;
+
+		Arrays.sort(latencies);
+		System.out.printf("[benchmark] %-8s %6.0f req/s  p50 %6.1f ms  p99 %6.1f ms  p99.9 %6.1f ms  max %6.1f ms"
+						+ "  %7.0f bytes allocated/req  %3d server threads%n",
+				name, latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+				percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e6,
+				(double) allocated / latencies.length, serverThreads(serverThreadPrefix).size());
+	}
+
+	// Per-request latencies in nanoseconds, from every client connection
+	private long[] run(URI uri, Duration duration) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri).build();
+		long deadline = System.nanoTime() + duration.toNanos();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<List<Long>>> workers = new ArrayList<>();
+			for (int i = 0; i < CLIENTS; i++) {
+				workers.add(executor.submit(() -> {
+					List<Long> latencies = new ArrayList<>();
+					while (System.nanoTime() < deadline) {
+						long sent = System.nanoTime();
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						latencies.add(System.nanoTime() - sent);
+						assertEquals(200, response.statusCode());
+					}
+					return latencies;
+				}));
+			}
+			List<Long> all = new ArrayList<>();
+			for (Future<List<Long>> worker : workers) {
+				all.addAll(worker.get());
+			}
+			return all.stream().mapToLong(Long::longValue).toArray();
+		}
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+	}
+
+	private static List<ThreadInfo> serverThreads(String prefix) {
+		return Arrays.stream(ManagementFactory.getThreadMXBean().getThreadInfo(ManagementFactory.getThreadMXBean().getAllThreadIds()))
+				.filter(thread -> thread != null && thread.getThreadName().startsWith(prefix))
+				.toList();
+	}
+
+	private static long allocatedBytes(String prefix) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long total = 0;
+		for (ThreadInfo thread : serverThreads(prefix)) {
+			total += Math.max(threads.getThreadAllocatedBytes(thread.getThreadId()), 0);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,109 @@
+package dev.ivy.orders.benchmark;
+
+import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.ResponseCacheService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Requests/sec and allocated bytes per request for the hot GETs, with the pre-encoded
+ * response cache on and off, over real HTTP. Allocation is summed over all JVM threads,
+ * so it includes the client side, which is the same in both runs.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"spring.jpa.show-sql=false", "logging.level.root=WARN"})
+class ResponseCacheBenchmark {
+
+	private static final int THREADS = Integer.getInteger("bench.threads", 8);
+	private static final Duration WARMUP = Duration.ofSeconds(5);
+	private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("bench.seconds", 10));
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ResponseCacheService responseCache;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void withAndWithoutCache() throws Exception {
+		Long orderId = orderRepository.findAll().get(0).getId();
+		List<String> paths = List.of("/api/clients", "/api/orders?size=20", "/api/orders/" + orderId);
+
+		for (String path : paths) {
+			for (boolean cached : new boolean[] {false, true}) {
+				responseCache.setEnabled(cached);
+				run(path, WARMUP);
+				long allocatedBefore = allocatedBytes();
+				long start = System.nanoTime();
+				long requests = run(path, MEASURE);
+				double seconds = (System.nanoTime() - start) / 1e9;
+				long allocated = allocatedBytes() - allocatedBefore;
+				System.out.printf("[benchmark] %-22s cache=%-5s %8.0f req/s %10.0f bytes allocated/req%n",
+						path, cached, requests / seconds, (double) allocated / requests);
+			}
+		}
+		responseCache.setEnabled(true);
+	}
+
+	private long run(String path, Duration duration) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Accept-Encoding", "gzip")
+				.build();
+		long deadline = System.nanoTime() + duration.toNanos();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Long>> workers = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				workers.add(executor.submit(() -> {
+					long count = 0;
+					while (System.nanoTime() < deadline) {
+						HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+						assertEquals(200, response.statusCode());
+						count++;
+					}
+					return count;
+				}));
+			}
+			long total = 0;
+			for (Future<Long> worker : workers) {
+				total += worker.get();
+			}
+			return total;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static long allocatedBytes() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long total = 0;
+		for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+			total += Math.max(allocated, 0);
+		}
+		return total;
+	}
+}
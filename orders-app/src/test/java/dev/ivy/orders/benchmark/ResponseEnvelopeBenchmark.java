@@ -0,0 +1,91 @@
+package dev.ivy.orders.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderPageResponse;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bytes allocated and p50/p99 latency for building and serializing one orders list
+ * response, comparing the former HashMap envelope with the typed OrderPageResponse.
+ * Both use the application's ObjectMapper on the same page of rows.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ResponseEnvelopeBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 50_000;
+	private static final int ITERATIONS = Integer.getInteger("bench.iterations", 200_000);
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void mapVersusRecordEnvelope() throws Exception {
+		Page<OrderSummary> page = orderRepository.findSummaries(new OrderFilter(), PageRequest.of(0, 20));
+
+		Supplier<Object> mapEnvelope = () -> {
+			Map<String, Object> response = new HashMap<>();
+			response.put("success", true);
+			response.put("message", "Orders retrieved successfully");
+			response.put("orders", page.getContent());
+			response.put("totalElements", page.getTotalElements());
+			response.put("totalPages", page.getTotalPages());
+			response.put("currentPage", 0);
+			response.put("pageSize", 20);
+			response.put("hasNext", page.hasNext());
+			response.put("hasPrevious", page.hasPrevious());
+			return response;
+		};
+		Supplier<Object> recordEnvelope = () -> new OrderPageResponse(true, "Orders retrieved successfully",
+				page.getContent(), page.getTotalElements(), page.getTotalPages(), 0, 20, page.hasNext(), page.hasPrevious());
+
+		// Same JSON either way, up to key order
+		assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(mapEnvelope.get())),
+				objectMapper.readTree(objectMapper.writeValueAsBytes(recordEnvelope.get())));
+
+		measure("map", mapEnvelope, WARMUP_ITERATIONS, false);
+		measure("record", recordEnvelope, WARMUP_ITERATIONS, false);
+		measure("map", mapEnvelope, ITERATIONS, true);
+		measure("record", recordEnvelope, ITERATIONS, true);
+	}
+
+	private void measure(String name, Supplier<Object> envelope, int iterations, boolean report) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long[] latencies = new long[iterations];
+		long bytesWritten = 0;
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			bytesWritten += objectMapper.writeValueAsBytes(envelope.get()).length;
+			latencies[i] = System.nanoTime() - start;
+		}
+		long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+		if (report) {
+			Arrays.sort(latencies);
+			System.out.printf("[benchmark] envelope=%-6s %8.0f bytes allocated/op  p50 %6.2f us  p99 %6.2f us  (%d bytes JSON)%n",
+					name, (double) allocated / iterations,
+					latencies[iterations / 2] / 1000.0, latencies[(int) (iterations * 0.99)] / 1000.0,
+					bytesWritten / iterations);
+		}
+	}
+}
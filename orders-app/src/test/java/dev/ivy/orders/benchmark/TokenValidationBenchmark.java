@@ -0,0 +1,56 @@
+package dev.ivy.orders.benchmark;
+
+import dev.ivy.orders.service.TokenService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of TokenService.validate, the work TokenAuthenticationFilter adds to every
+ * authenticated request. Warm-up iterations run before timed rounds, JMH-style.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TokenValidationBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 200_000;
+	private static final int ROUNDS = 5;
+	private static final int ITERATIONS = Integer.getInteger("bench.iterations", 1_000_000);
+
+	@Test
+	void validate() {
+		String previousSecret = "previous-benchmark-secret-of-at-least-32-bytes";
+		TokenService tokenService = new TokenService("current-benchmark-secret-of-at-least-32-bytes",
+				List.of(previousSecret), Duration.ofHours(1));
+		String token = tokenService.issue("admin", "ADMIN").token();
+		String rotatedToken = new TokenService(previousSecret, List.of(), Duration.ofHours(1))
+				.issue("admin", "ADMIN").token();
+
+		assertTrue(tokenService.validate(token).isPresent());
+		assertTrue(tokenService.validate(rotatedToken).isPresent());
+
+		// Accumulate a result so the JIT cannot drop the calls
+		long valid = run(tokenService, token, WARMUP_ITERATIONS);
+		for (int round = 1; round <= ROUNDS; round++) {
+			long start = System.nanoTime();
+			valid += run(tokenService, token, ITERATIONS);
+			long elapsed = System.nanoTime() - start;
+			System.out.printf("[benchmark] token validate round %d: %.0f ns/op%n", round, (double) elapsed / ITERATIONS);
+		}
+		assertTrue(valid > 0);
+	}
+
+	private static long run(TokenService tokenService, String token, int iterations) {
+		long valid = 0;
+		for (int i = 0; i < iterations; i++) {
+			if (tokenService.validate(token).isPresent()) {
+				valid++;
+			}
+		}
+		return valid;
+	}
+}
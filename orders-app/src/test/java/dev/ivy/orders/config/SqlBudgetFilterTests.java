@@ -0,0 +1,75 @@
+package dev.ivy.orders.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetFilterTests {
+
+	private final SqlBudgetFilter filter = new SqlBudgetFilter(true, 10, 5, Duration.ofSeconds(1));
+
+	@Test
+	void shapeFoldsLiteralsWhitespaceAndInLists() {
+		assertThat(SqlRequestStats.shape("select c1_0.id\n    from clients c1_0 where c1_0.code = 'A''B' and c1_0.id in (?, ?,?)"))
+				.isEqualTo("select c1_0.id from clients c1_0 where c1_0.code = ? and c1_0.id in (?)");
+		assertThat(SqlRequestStats.shape("select * from orders where id = 42 limit 10"))
+				.isEqualTo("select * from orders where id = ? limit ?");
+	}
+
+	@Test
+	void repeatedShapeIsReportedAsOverBudget(CapturedOutput output) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), response, (request, ignored) -> {
+			SqlRequestStats stats = SqlRequestStats.current();
+			stats.statement("select * from orders limit 20", 1_000_000);
+			stats.rows(20, 0);
+			for (int id = 1; id <= 6; id++) {
+				stats.statement("select * from clients where id = " + id, 1_000_000);
+			}
+		});
+
+		assertThat(response.getHeader(SqlBudgetFilter.STATEMENTS_HEADER)).isEqualTo("7");
+		assertThat(response.getHeader(SqlBudgetFilter.ROWS_HEADER)).isEqualTo("20");
+		assertThat(response.getHeader("Server-Timing")).isEqualTo("db;dur=7.00");
+		assertThat(output).contains("SQL budget exceeded by GET /api/orders: 7 statements, 20 rows, 7.0 ms")
+				.contains("repeated: 6x select * from clients where id = ?")
+				.doesNotContain("x select * from orders");
+		assertThat(SqlRequestStats.current()).isNull();
+	}
+
+	@Test
+	void requestWithinBudgetIsNotReported(CapturedOutput output) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/clients"), response, (request, ignored) -> {
+			for (int id = 1; id <= 5; id++) {
+				SqlRequestStats.current().statement("select * from clients where id = " + id, 1_000);
+			}
+		});
+
+		assertThat(response.getHeader(SqlBudgetFilter.STATEMENTS_HEADER)).isEqualTo("5");
+		assertThat(output).doesNotContain("SQL budget exceeded");
+	}
+
+	@Test
+	void headersAreSetBeforeTheBodyIsCommitted() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/export"), response, (request, committing) -> {
+			SqlRequestStats.current().statement("select * from orders", 1_000);
+			committing.flushBuffer();
+			SqlRequestStats.current().statement("select * from orders", 1_000);
+		});
+
+		assertThat(response.getHeader(SqlBudgetFilter.STATEMENTS_HEADER)).isEqualTo("1");
+	}
+}
@@ -0,0 +1,142 @@
+package dev.ivy.orders.controller;
+
+import dev.ivy.orders.service.PasswordHashingService;
+import dev.ivy.orders.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private PasswordHashingService passwordHashingService;
+
+	@Test
+	void roleChangeAppliesOnceTheTokenIsRefreshed() throws Exception {
+		String bearer = "Bearer " + tokenService.issue("user2", "USER").token();
+		mockMvc.perform(get("/api/admin/jfr").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isForbidden());
+
+		try {
+			setRole("user2", "ADMIN");
+			// The role is read from the token, not looked up per request
+			mockMvc.perform(get("/api/admin/jfr").header(HttpHeaders.AUTHORIZATION, bearer))
+					.andExpect(status().isForbidden());
+
+			String refreshed = mockMvc.perform(post("/api/auth/refresh").header(HttpHeaders.AUTHORIZATION, bearer))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.user.role").value("ADMIN"))
+					.andExpect(jsonPath("$.expiresAt").exists())
+					.andReturn().getResponse().getContentAsString().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+			mockMvc.perform(get("/api/admin/jfr").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshed))
+					.andExpect(status().isOk());
+		} finally {
+			setRole("user2", "USER");
+		}
+	}
+
+	@Test
+	void refreshNeedsAValidToken() throws Exception {
+		mockMvc.perform(post("/api/auth/refresh")).andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/auth/refresh").header(HttpHeaders.AUTHORIZATION, "Bearer forged.token.value"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void userAdministrationAndStatsAreAdminOnly() throws Exception {
+		for (String path : new String[] {"/api/auth/users", "/api/auth/cache/stats", "/api/auth/hashing/stats"}) {
+			mockMvc.perform(get(path)).andExpect(status().isForbidden());
+			mockMvc.perform(get(path).with(user("user1").roles("USER"))).andExpect(status().isForbidden());
+			mockMvc.perform(get(path).with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+		}
+		mockMvc.perform(put("/api/auth/users/{username}/role", "user1").with(user("user1").roles("USER"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"role\":\"ADMIN\"}"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void registrationIgnoresARequestedRole() throws Exception {
+		MvcResult register = mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"self-made-admin\",\"password\":\"password\",\"role\":\"ADMIN\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(register))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.user.role").value("USER"));
+	}
+
+	@Test
+	void wrongPasswordIsUnauthorized() throws Exception {
+		MvcResult login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"admin\",\"password\":\"wrong\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(login)).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void loginBeyondTheHashingQueueGets429WithRetryAfter() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			// Occupy every hashing thread and queue slot
+			assertThatThrownBy(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					passwordHashingService.submit(() -> {
+						try {
+							return release.await(30, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return false;
+						}
+					});
+				}
+			}).isInstanceOf(RejectedExecutionException.class);
+
+			MvcResult login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+							.content("{\"username\":\"admin\",\"password\":\"password\"}"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+			mockMvc.perform(asyncDispatch(login))
+					.andExpect(status().isTooManyRequests())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private void setRole(String username, String role) throws Exception {
+		mockMvc.perform(put("/api/auth/users/{username}/role", username).with(user("admin").roles("ADMIN"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"role\":\"" + role + "\"}"))
+				.andExpect(status().isOk());
+	}
+}
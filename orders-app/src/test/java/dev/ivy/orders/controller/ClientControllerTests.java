@@ -0,0 +1,104 @@
+package dev.ivy.orders.controller;
+
+import dev.ivy.orders.config.SqlBudgetFilter;
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.ResponseCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClientControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ResponseCacheService responseCache;
+
+	private Client client;
+
+	@BeforeEach
+	void setUp() {
+		// Counts below are for a cold client cache and no pre-encoded bodies
+		responseCache.setEnabled(false);
+		client = clientService.getAllClients().get(0);
+		clientService.evictAll();
+	}
+
+	@AfterEach
+	void tearDown() {
+		responseCache.setEnabled(true);
+	}
+
+	@Test
+	void listLoadsAllClientsOnceThenFromCache() throws Exception {
+		mockMvc.perform(get("/api/clients"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "1"))
+				.andExpect(header().exists("Server-Timing"));
+
+		mockMvc.perform(get("/api/clients"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "0"));
+	}
+
+	@Test
+	void detailLoadsOneRowOnceThenFromCache() throws Exception {
+		mockMvc.perform(get("/api/clients/{id}", client.getId()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.client.code").value(client.getCode()))
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "1"))
+				.andExpect(header().string(SqlBudgetFilter.ROWS_HEADER, "1"));
+
+		mockMvc.perform(get("/api/clients/{id}", client.getId()))
+				.andExpect(status().isOk())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "0"));
+	}
+
+	@Test
+	void missingClientIsLookedUpEveryTime() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/api/clients/{id}", Long.MAX_VALUE))
+					.andExpect(status().isNotFound())
+					.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "1"))
+					.andExpect(header().string(SqlBudgetFilter.ROWS_HEADER, "0"));
+		}
+	}
+
+	@Test
+	void writesIssueAFixedNumberOfStatements() throws Exception {
+		String id = mockMvc.perform(post("/api/clients").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Budget\",\"code\":\"SQL-BUDGET\",\"city\":\"Oslo\"}"))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "2"))
+				.andReturn().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+		mockMvc.perform(put("/api/clients/{id}", id).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Budget\",\"code\":\"SQL-BUDGET-2\",\"city\":\"Bergen\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "5"));
+
+		mockMvc.perform(delete("/api/clients/{id}", id))
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "7"));
+	}
+}
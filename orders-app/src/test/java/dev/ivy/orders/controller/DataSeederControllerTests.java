@@ -0,0 +1,103 @@
+package dev.ivy.orders.controller;
+
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+// Its own database: these tests replace and clear all data
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:generatordb")
+class DataSeederControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void generatesSkewedReproducibleData() throws Exception {
+		mockMvc.perform(post("/api/seeder/generate").param("clients", "100").param("orders", "20000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.clients").value(100))
+				.andExpect(jsonPath("$.orders").value(20000));
+		assertThat(clientRepository.count()).isEqualTo(100);
+		assertThat(orderRepository.count()).isEqualTo(20000);
+
+		// Hot clients: the busiest 5% hold about half the orders
+		Long hotOrders = jdbcTemplate.queryForObject("SELECT SUM(n) FROM (SELECT COUNT(*) AS n FROM orders " +
+				"GROUP BY client_id ORDER BY n DESC LIMIT 5)", Long.class);
+		assertThat(hotOrders).isGreaterThan(8000);
+		// Recent bias: half the orders fall in the latest quarter of the two-year range
+		Long recent = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE order_date > ?", Long.class,
+				LocalDate.now().minusDays(730 / 4));
+		assertThat(recent).isBetween(9000L, 11000L);
+		// Status mix: old orders are closed
+		Long oldOpen = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE order_date < ? " +
+				"AND status <> 'COMPLETED'", Long.class, LocalDate.now().minusDays(30));
+		assertThat(oldOpen).isLessThan(2000);
+
+		// Same size and seed, same rows
+		BigDecimal total = jdbcTemplate.queryForObject("SELECT SUM(price) FROM orders", BigDecimal.class);
+		mockMvc.perform(post("/api/seeder/generate").param("clients", "100").param("orders", "20000"))
+				.andExpect(status().isOk());
+		assertThat(jdbcTemplate.queryForObject("SELECT SUM(price) FROM orders", BigDecimal.class)).isEqualTo(total);
+	}
+
+	@Test
+	void entitiesSavedAfterGenerationGetFreshIds() throws Exception {
+		mockMvc.perform(post("/api/seeder/generate").param("clients", "10").param("orders", "1000"))
+				.andExpect(status().isOk());
+
+		Client client = clientRepository.save(new Client("Saved Client", "SAVED001", "Boston"));
+		Order order = orderRepository.save(new Order("Saved Order", client, 1, new BigDecimal("10.00"), LocalDate.now()));
+
+		assertThat(clientRepository.count()).isEqualTo(11);
+		assertThat(orderRepository.count()).isEqualTo(1001);
+		assertThat(orderRepository.findById(order.getId())).isPresent();
+	}
+
+	@Test
+	void clearRemovesEverythingInBulk() throws Exception {
+		mockMvc.perform(post("/api/seeder/generate").param("clients", "10").param("orders", "1000"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(delete("/api/seeder/clear")).andExpect(status().isOk());
+
+		assertThat(orderRepository.count()).isZero();
+		assertThat(clientRepository.count()).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isZero();
+	}
+
+	@Test
+	void rejectsEmptyClientSet() throws Exception {
+		mockMvc.perform(post("/api/seeder/generate").param("clients", "0").param("orders", "10"))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,97 @@
+package dev.ivy.orders.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "orders.jfr.dump-dir=target/jfr")
+class FlightRecorderControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@AfterEach
+	void stopRecording() throws Exception {
+		mockMvc.perform(post("/api/admin/jfr/stop").with(user("admin").roles("ADMIN")));
+	}
+
+	@Test
+	void dumpHoldsControllerRepositoryAndPasswordEvents() throws Exception {
+		mockMvc.perform(post("/api/admin/jfr/start").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.recording.running").value(true));
+
+		mockMvc.perform(get("/api/orders").param("page", "1").param("size", "5"))
+				.andExpect(status().isOk());
+		MvcResult login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"admin\",\"password\":\"password\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk());
+
+		String body = mockMvc.perform(post("/api/admin/jfr/dump").param("window", "1m").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(JsonPath.<String>read(body, "$.dump.file")));
+
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("dev.ivy.orders.ControllerInvocation");
+			assertThat(event.getString("endpoint")).isEqualTo("GET /api/orders");
+			assertThat(event.getString("handler")).isEqualTo("OrderController.getOrders");
+			assertThat(event.getInt("status")).isEqualTo(200);
+			assertThat(event.getInt("statements")).isEqualTo(1);
+			assertThat(event.getLong("rows")).isEqualTo(5);
+			assertThat(event.getDuration("serializationTime")).isPositive();
+		});
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("dev.ivy.orders.ControllerInvocation");
+			assertThat(event.getString("endpoint")).isEqualTo("POST /api/auth/login");
+			assertThat(event.getInt("status")).isEqualTo(200);
+		});
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("dev.ivy.orders.RepositoryCall");
+			assertThat(event.getString("repository")).isEqualTo("OrderRepository");
+			assertThat(event.getString("query")).isEqualTo("findSummaries");
+			assertThat(event.getLong("rows")).isEqualTo(5);
+		});
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("dev.ivy.orders.PasswordVerification");
+			assertThat(event.getBoolean("matched")).isTrue();
+		});
+	}
+
+	@Test
+	void dumpWithoutRecordingIsConflict() throws Exception {
+		mockMvc.perform(post("/api/admin/jfr/dump").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void recordingIsAdminOnly() throws Exception {
+		mockMvc.perform(post("/api/admin/jfr/start").with(user("user1").roles("USER")))
+				.andExpect(status().isForbidden());
+	}
+}
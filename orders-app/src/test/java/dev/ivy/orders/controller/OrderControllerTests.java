@@ -0,0 +1,592 @@
+package dev.ivy.orders.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import dev.ivy.orders.config.SqlBudgetFilter;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.OrderRepository;
+import dev.ivy.orders.service.ClientService;
+import dev.ivy.orders.service.DataVersionService;
+import dev.ivy.orders.service.DataVersionService.Dataset;
+import dev.ivy.orders.service.OrderCountService;
+import dev.ivy.orders.service.OrderStatsService;
+import dev.ivy.orders.service.ResponseCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"orders.import.chunk-size=2"
+})
+class OrderControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ResponseCacheService responseCache;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private DataVersionService dataVersionService;
+
+	@Autowired
+	private OrderCountService orderCountService;
+
+	@Autowired
+	private OrderStatsService orderStatsService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		// Statement counts below are for the uncached path; the response cache has its own test
+		responseCache.setEnabled(false);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		responseCache.setEnabled(true);
+	}
+
+	@Test
+	void offsetPageUsesSingleSelectWithCachedTotal() throws Exception {
+		long total = orderRepository.count();
+		for (int page = 0; page < 3; page++) {
+			statistics.clear();
+
+			mockMvc.perform(get("/api/orders").param("page", String.valueOf(page)).param("size", "5"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.orders[0].clientName").isNotEmpty())
+					.andExpect(jsonPath("$.totalElements").value(total))
+					.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "1"))
+					.andExpect(header().string(SqlBudgetFilter.ROWS_HEADER, "5"));
+
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+			assertThat(statistics.getEntityLoadCount()).isZero();
+		}
+	}
+
+	@Test
+	void offsetPageFilteredBeyondClientAndStatusStillCounts() throws Exception {
+		mockMvc.perform(get("/api/orders").param("page", "1").param("size", "1").param("paymentMethod", "CARD"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "2"));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void keysetPageUsesSingleSelect() throws Exception {
+		mockMvc.perform(get("/api/orders").param("cursor", "true").param("size", "5"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.orders.length()").value(5))
+				.andExpect(jsonPath("$.orders[0].clientName").isNotEmpty())
+				.andExpect(jsonPath("$.nextCursor").isNotEmpty())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "1"));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void followingNextCursorVisitsEveryOrderOnceAcrossTies() throws Exception {
+		long clientId = orderRepository.findAll().get(0).getClientId();
+		// 120 orders on one date: every page boundary inside them falls on a tie
+		insertBatchCheckOrders(clientId, 120);
+		try {
+			List<Long> expected = orderRepository.findAll().stream()
+					.sorted(Comparator.comparing(Order::getOrderDate).thenComparing(Order::getId).reversed())
+					.map(Order::getId)
+					.toList();
+
+			List<Long> visited = new ArrayList<>();
+			String after = null;
+			do {
+				MockHttpServletRequestBuilder page = get("/api/orders").param("size", "7");
+				page = after == null ? page.param("cursor", "true") : page.param("after", after);
+				JsonNode body = new ObjectMapper().readTree(mockMvc.perform(page)
+						.andExpect(status().isOk())
+						.andReturn().getResponse().getContentAsString());
+				body.get("orders").forEach(order -> visited.add(order.get("id").asLong()));
+				after = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+				assertThat(body.get("hasNext").asBoolean()).isEqualTo(after != null);
+			} while (after != null);
+
+			assertThat(visited).containsExactlyElementsOf(expected);
+		} finally {
+			deleteBatchCheckOrders();
+		}
+	}
+
+	@Test
+	void pageSizeIsCappedAtOneHundred() throws Exception {
+		insertBatchCheckOrders(orderRepository.findAll().get(0).getClientId(), 120);
+		try {
+			mockMvc.perform(get("/api/orders").param("cursor", "true").param("size", "500"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.pageSize").value(100))
+					.andExpect(jsonPath("$.orders.length()").value(100))
+					.andExpect(jsonPath("$.hasNext").value(true));
+			mockMvc.perform(get("/api/orders").param("size", "500"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.pageSize").value(100))
+					.andExpect(jsonPath("$.orders.length()").value(100));
+		} finally {
+			deleteBatchCheckOrders();
+		}
+	}
+
+	@Test
+	void emptyOrMalformedCursorIsRejected() throws Exception {
+		mockMvc.perform(get("/api/orders").param("after", ""))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid cursor"));
+		mockMvc.perform(get("/api/orders").param("after", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void filtersNarrowTheReturnedRows() throws Exception {
+		List<Order> orders = orderRepository.findAll();
+		Order sample = orders.get(orders.size() / 2);
+		LocalDate from = sample.getOrderDate().minusDays(10);
+		LocalDate to = sample.getOrderDate();
+
+		assertFilterReturns(order -> order.getClientId().equals(sample.getClientId()),
+				"clientId", String.valueOf(sample.getClientId()));
+		assertFilterReturns(order -> sample.getStatus().equals(order.getStatus()),
+				"status", sample.getStatus());
+		assertFilterReturns(order -> !order.getOrderDate().isBefore(from) && !order.getOrderDate().isAfter(to),
+				"dateFrom", from.toString(), "dateTo", to.toString());
+		assertFilterReturns(order -> order.getClientId().equals(sample.getClientId())
+						&& sample.getStatus().equals(order.getStatus())
+						&& !order.getOrderDate().isAfter(to),
+				"clientId", String.valueOf(sample.getClientId()), "status", sample.getStatus(), "dateTo", to.toString());
+	}
+
+	@Test
+	void unchangedListRevalidatesWith304AndNoStatements() throws Exception {
+		String etag = mockMvc.perform(get("/api/orders").param("size", "5"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		statistics.clear();
+
+		mockMvc.perform(get("/api/orders").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""))
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "0"));
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void writeInTheSameSecondIsNotHiddenByIfModifiedSince() throws Exception {
+		String etag = mockMvc.perform(get("/api/orders/counts"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		// Within the same second as the read above, which HTTP dates cannot tell apart
+		String now = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC));
+		dataVersionService.bump(Dataset.ORDERS);
+
+		mockMvc.perform(get("/api/orders/counts").header(HttpHeaders.IF_MODIFIED_SINCE, now))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/orders/counts").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	void cachedFirstPageIsServedWithoutStatements() throws Exception {
+		responseCache.setEnabled(true);
+		String body = mockMvc.perform(get("/api/orders").param("size", "7"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		statistics.clear();
+
+		mockMvc.perform(get("/api/orders").param("size", "7"))
+				.andExpect(status().isOk())
+				.andExpect(content().json(body, JsonCompareMode.STRICT))
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "0"));
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void cachedFirstPageIsNotServedAfterAWrite() throws Exception {
+		responseCache.setEnabled(true);
+		long before = orderRepository.count();
+		mockMvc.perform(get("/api/orders").param("size", "7"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(before));
+
+		long clientId = orderRepository.findAll().get(0).getClientId();
+		String id = mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+						.content(orderJson(clientId, 1, "3.00")))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+		// The old entry is still in the cache, under a version no request asks for any more
+		mockMvc.perform(get("/api/orders").param("size", "7"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(before + 1));
+
+		mockMvc.perform(delete("/api/orders/{id}", id)).andExpect(status().isNoContent());
+	}
+
+	@Test
+	void statsLooksUpClientNamesInOneStatement() throws Exception {
+		clientService.evictAll();
+
+		mockMvc.perform(get("/api/orders/stats"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.byClient[0].clientName").isNotEmpty())
+				.andExpect(header().string(SqlBudgetFilter.STATEMENTS_HEADER, "1"));
+	}
+
+	@Test
+	void writesKeepStatsInStepWithARebuild() throws Exception {
+		long clientId = orderRepository.findAll().get(0).getClientId();
+		String id = mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+						.content(orderJson(clientId, 2, "10.50")))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+		assertStatsMatchRebuild();
+
+		mockMvc.perform(put("/api/orders/{id}", id).contentType(MediaType.APPLICATION_JSON)
+						.content(orderJson(clientId, 3, "7.25")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.order.quantity").value(3))
+				.andExpect(jsonPath("$.order.clientName").isNotEmpty());
+		assertStatsMatchRebuild();
+
+		mockMvc.perform(delete("/api/orders/{id}", id))
+				.andExpect(status().isNoContent());
+		assertStatsMatchRebuild();
+
+		mockMvc.perform(put("/api/orders/{id}", id).contentType(MediaType.APPLICATION_JSON)
+						.content(orderJson(clientId, 3, "7.25")))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void newEtagIsServedWithTheWrittenData() throws Exception {
+		long before = orderRepository.count();
+		String staleEtag = mockMvc.perform(get("/api/orders").param("size", "1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// What a request would read the moment the new version becomes visible
+		List<long[]> seenAtBump = new CopyOnWriteArrayList<>();
+		AtomicBoolean armed = new AtomicBoolean(true);
+		dataVersionService.onBump(dataset -> {
+			if (armed.get() && dataset == Dataset.ORDERS) {
+				seenAtBump.add(new long[] {orderCountService.countFor(null).getAsLong(), orderStatsService.snapshot().total().count()});
+			}
+		});
+		String id;
+		try {
+			long clientId = orderRepository.findAll().get(0).getClientId();
+			id = mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+							.content(orderJson(clientId, 1, "5.00")))
+					.andExpect(status().isCreated())
+					.andReturn().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+		} finally {
+			armed.set(false);
+		}
+
+		assertThat(seenAtBump).singleElement().satisfies(seen -> assertThat(seen).containsExactly(before + 1, before + 1));
+		mockMvc.perform(get("/api/orders").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(staleEtag)))
+				.andExpect(jsonPath("$.totalElements").value(before + 1));
+
+		mockMvc.perform(delete("/api/orders/{id}", id)).andExpect(status().isNoContent());
+	}
+
+	@Test
+	void batchRejectsOnlyTheBadRowsOfAChunk() throws Exception {
+		long clientId = orderRepository.findAll().get(0).getClientId();
+		String tooLong = "x".repeat(101);
+		String body = "[" + String.join(",",
+				batchRow(clientId, "Batch check"),
+				batchRow(clientId, tooLong),
+				batchRow(clientId, "Batch check"),
+				batchRow(999_999, "Batch check"),
+				batchRow(clientId, "Batch check")) + "]";
+
+		mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(5))
+				.andExpect(jsonPath("$.inserted").value(3))
+				.andExpect(jsonPath("$.failed").value(2))
+				.andExpect(jsonPath("$.errors[0].index").value(1))
+				.andExpect(jsonPath("$.errors[0].message").value(startsWith("Insert failed")))
+				.andExpect(jsonPath("$.errors[1].index").value(3))
+				.andExpect(jsonPath("$.errors[1].message").value("Client not found: 999999"));
+
+		try {
+			assertThat(batchCheckIds()).hasSize(3);
+			assertStatsMatchRebuild();
+		} finally {
+			deleteBatchCheckOrders();
+		}
+	}
+
+	@Test
+	void ndjsonBatchReportsMalformedLinesAndInsertsTheRest() throws Exception {
+		long clientId = orderRepository.findAll().get(0).getClientId();
+		String body = batchRow(clientId, "Batch check") + "\n{\"clientId\":\n\n" + batchRow(clientId, "Batch check") + "\n";
+
+		try {
+			mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.received").value(3))
+					.andExpect(jsonPath("$.inserted").value(2))
+					.andExpect(jsonPath("$.errors.length()").value(1))
+					.andExpect(jsonPath("$.errors[0].index").value(1))
+					.andExpect(jsonPath("$.errors[0].message").value(startsWith("Malformed JSON")));
+			assertThat(batchCheckIds()).hasSize(2);
+		} finally {
+			deleteBatchCheckOrders();
+		}
+	}
+
+	@Test
+	void batchOverTheRowCapIsRejected() throws Exception {
+		long before = orderRepository.count();
+		String body = "{}\n".repeat(50_001);
+
+		mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false));
+		assertThat(orderRepository.count()).isEqualTo(before);
+	}
+
+	@Test
+	void importStoppedByAFailedChunkResumesWhereItStopped() throws Exception {
+		String code = clientService.getAllClients().get(0).getCode();
+		String header = "\uFEFFclientCode,productName,quantity,price,orderDate\n";
+		String[] rows = new String[5];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = code + ",Batch check,1,2.50,2024-03-01\n";
+		}
+		// Passes validation, refused by the database: fails the second chunk (rows 3 and 4)
+		String[] broken = rows.clone();
+		broken[3] = code + "," + "x".repeat(101) + ",1,2.50,2024-03-01\n";
+
+		try {
+			mockMvc.perform(post("/api/orders/import").contentType("text/csv").content(header + String.join("", broken)))
+					.andExpect(status().isInternalServerError())
+					.andExpect(jsonPath("$.inserted").value(2))
+					.andExpect(jsonPath("$.resumeFrom").value(2))
+					.andExpect(jsonPath("$.errors[0].row").value(3));
+			assertThat(batchCheckIds()).hasSize(2);
+
+			mockMvc.perform(post("/api/orders/import").param("resumeFrom", "2")
+							.contentType("text/csv").content(header + String.join("", rows)))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.processed").value(3))
+					.andExpect(jsonPath("$.inserted").value(3))
+					.andExpect(jsonPath("$.resumeFrom").doesNotExist());
+			assertThat(batchCheckIds()).hasSize(5);
+			assertStatsMatchRebuild();
+		} finally {
+			deleteBatchCheckOrders();
+		}
+	}
+
+	@Test
+	void ndjsonExportStreamsOneObjectPerMatchingOrder() throws Exception {
+		long clientId = orderRepository.findAll().get(0).getClientId();
+		long expected = orderRepository.findAll().stream().filter(order -> order.getClientId() == clientId).count();
+
+		String body = export(get("/api/orders/export").param("clientId", String.valueOf(clientId)))
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString();
+
+		List<String> lines = body.lines().toList();
+		assertThat(lines).hasSize((int) expected);
+		ObjectMapper mapper = new ObjectMapper();
+		long previousId = 0;
+		for (String line : lines) {
+			JsonNode row = mapper.readTree(line);
+			assertThat(row.fieldNames()).toIterable().contains("id", "orderDate", "clientName", "price", "status");
+			assertThat(row.get("id").asLong()).isGreaterThan(previousId);
+			previousId = row.get("id").asLong();
+		}
+	}
+
+	@Test
+	void csvExportHasAHeaderAndOneLinePerOrder() throws Exception {
+		byte[] gzipped = export(get("/api/orders/export").param("format", "csv").param("gzip", "true"))
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		List<String> lines;
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+			lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+		}
+		assertThat(lines.get(0)).isEqualTo("id,orderDate,clientName,type,paymentMethod,expedition,price,status");
+		assertThat(lines).hasSize((int) orderRepository.count() + 1);
+		assertThat(lines.get(1).split(",", -1)).hasSize(8);
+	}
+
+	@Test
+	void binaryFormatsCarryTheSameDocumentAsJson() throws Exception {
+		JsonNode json = new ObjectMapper().readTree(mockMvc.perform(get("/api/orders").param("size", "5"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+
+		// Once through the message converters, once through the pre-encoded response cache
+		for (boolean cached : new boolean[] {false, true}) {
+			responseCache.setEnabled(cached);
+			for (ObjectMapper mapper : new ObjectMapper[] {new CBORMapper(), new SmileMapper()}) {
+				String format = mapper.getFactory().getFormatName().equals("CBOR") ? "application/cbor" : "application/x-jackson-smile";
+				byte[] body = mockMvc.perform(get("/api/orders").param("size", "5").accept(format))
+						.andExpect(status().isOk())
+						.andExpect(content().contentType(format))
+						.andReturn().getResponse().getContentAsByteArray();
+				// CBOR keeps BigDecimal prices as tagged decimals, so numbers compare by value
+				assertThat(json.equals((left, right) -> left.isNumber() && right.isNumber()
+						? left.decimalValue().compareTo(right.decimalValue())
+						: left.equals(right) ? 0 : 1, mapper.readTree(body))).isTrue();
+			}
+		}
+	}
+
+	private void assertStatsMatchRebuild() throws Exception {
+		String incremental = mockMvc.perform(get("/api/orders/stats"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		mockMvc.perform(post("/api/orders/stats/rebuild")).andExpect(status().isForbidden());
+		mockMvc.perform(post("/api/orders/stats/rebuild").with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/orders/stats"))
+				.andExpect(status().isOk())
+				.andExpect(content().json(incremental, JsonCompareMode.STRICT));
+	}
+
+	private static String orderJson(long clientId, int quantity, String price) {
+		return "{\"clientId\":" + clientId + ",\"productName\":\"Stats check\",\"quantity\":" + quantity
+				+ ",\"price\":" + price + ",\"orderDate\":\"2024-03-01\",\"status\":\"PENDING\"}";
+	}
+
+	private static String batchRow(long clientId, String productName) {
+		return "{\"clientId\":" + clientId + ",\"productName\":\"" + productName
+				+ "\",\"quantity\":1,\"price\":2.50,\"orderDate\":\"2024-03-01\"}";
+	}
+
+	// Both paging modes return exactly the orders matching the predicate, and fewer than all of them
+	private void assertFilterReturns(Predicate<Order> matches, String... params) throws Exception {
+		List<Order> orders = orderRepository.findAll();
+		List<Long> expected = orders.stream().filter(matches).map(Order::getId).sorted().toList();
+		assertThat(expected).isNotEmpty().hasSizeLessThan(orders.size());
+
+		for (String mode : List.of("page", "cursor")) {
+			MockHttpServletRequestBuilder request = get("/api/orders").param("size", "100")
+					.param(mode, mode.equals("page") ? "0" : "true");
+			for (int i = 0; i < params.length; i += 2) {
+				request = request.param(params[i], params[i + 1]);
+			}
+			JsonNode body = new ObjectMapper().readTree(mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			List<Long> returned = new ArrayList<>();
+			body.get("orders").forEach(order -> returned.add(order.get("id").asLong()));
+			assertThat(returned).as("%s mode, %s", mode, String.join(",", params)).containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	private void insertBatchCheckOrders(long clientId, int count) throws Exception {
+		List<String> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(batchRow(clientId, "Batch check"));
+		}
+		mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON).content("[" + String.join(",", rows) + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.inserted").value(count));
+	}
+
+	private List<Long> batchCheckIds() {
+		return orderRepository.findAll().stream()
+				.filter(order -> "Batch check".equals(order.getProductName()))
+				.map(Order::getId)
+				.toList();
+	}
+
+	// Through the API, so the in-memory counts and stats see the deletes
+	private void deleteBatchCheckOrders() throws Exception {
+		for (Long id : batchCheckIds()) {
+			mockMvc.perform(delete("/api/orders/{id}", id)).andExpect(status().isNoContent());
+		}
+	}
+
+	// StreamingResponseBody runs asynchronously
+	private ResultActions export(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult started = mockMvc.perform(request)
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+	}
+}
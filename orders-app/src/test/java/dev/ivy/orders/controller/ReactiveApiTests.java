@@ -0,0 +1,93 @@
+package dev.ivy.orders.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ivy.orders.config.ReactiveServerConfig.ReactiveServer;
+import dev.ivy.orders.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"orders.reactive.enabled=true", "orders.reactive.port=0"})
+class ReactiveApiTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ReactiveServer reactiveServer;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		client = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveServer.getPort()).build();
+	}
+
+	@Test
+	void pagesMatchTheServletApi() throws Exception {
+		for (String query : List.of("?size=5&sort=id,asc", "?page=1&size=3&sort=price,desc", "?status=PENDING&size=100")) {
+			JsonNode servlet = objectMapper.readTree(mockMvc.perform(get("/api/orders" + query))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsByteArray());
+			JsonNode reactive = objectMapper.readTree(client.get().uri("/api/orders" + query).exchange()
+					.expectStatus().isOk()
+					.expectBody().returnResult().getResponseBody());
+
+			assertThat(reactive).as(query).isEqualTo(servlet);
+		}
+	}
+
+	@Test
+	void detailMatchesTheServletApi() throws Exception {
+		Long id = orderRepository.findAll().get(0).getId();
+		JsonNode servlet = objectMapper.readTree(mockMvc.perform(get("/api/orders/" + id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+		JsonNode reactive = objectMapper.readTree(client.get().uri("/api/orders/" + id).exchange()
+				.expectStatus().isOk()
+				.expectBody().returnResult().getResponseBody());
+
+		assertThat(reactive).isEqualTo(servlet);
+		client.get().uri("/api/orders/" + Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+	}
+
+	@Test
+	void streamsEveryMatchingRowAsNdjson() {
+		List<JsonNode> rows = client.get().uri("/api/orders/stream")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.returnResult(JsonNode.class).getResponseBody()
+				.collectList().block();
+
+		assertThat(rows).hasSize((int) orderRepository.count());
+		assertThat(rows.get(0).get("clientName").asText()).isNotEmpty();
+	}
+
+	@Test
+	void rejectsInvalidFilters() {
+		client.get().uri("/api/orders?dateFrom=yesterday").exchange().expectStatus().isBadRequest();
+		client.get().uri("/api/orders?sort=productName").exchange().expectStatus().isBadRequest();
+	}
+}
@@ -0,0 +1,270 @@
+package dev.ivy.orders.repository;
+
+import dev.ivy.orders.dto.OrderCursor;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.service.DataGeneratorService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN plans and latencies of the repository queries behind the order and client
+ * endpoints, over a generated data set, so a query or mapping change that drops off an
+ * index fails the build. H2 only joins with nested loops, so a join is checked by its
+ * driving table and by the index used to look up the other side.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// Its own database: the data set is replaced with a generated one
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:plandb")
+class QueryPlanTests {
+
+	private static final int CLIENTS = 2_000;
+	private static final int ORDERS = 200_000;
+
+	private static final Sort BY_DATE_DESC = Sort.by(Sort.Direction.DESC, "orderDate").and(Sort.by(Sort.Direction.DESC, "id"));
+	private static final Sort BY_PRICE_DESC = Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.DESC, "id"));
+
+	// "PUBLIC"."ORDERS" "O1_0" /* PUBLIC.IDX_ORDERS_DATE: ORDER_DATE < ?1 */
+	private static final Pattern TABLE_ACCESS =
+			Pattern.compile("\"PUBLIC\"\\.\"(\\w+)\" \"\\w+\"\\s+/\\* PUBLIC\\.([\\w.]+)(?::\\s*([^*]*?))?\\s*\\*/");
+
+	private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+	@TestConfiguration
+	static class StatementCapture {
+
+		@Bean
+		HibernatePropertiesCustomizer statementInspector() {
+			return properties -> properties.put("hibernate.session_factory.statement_inspector",
+					(StatementInspector) sql -> {
+						statements.add(sql);
+						return sql;
+					});
+		}
+	}
+
+	@Autowired
+	private DataGeneratorService dataGenerator;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long hotClientId;
+	private String hotClientCode;
+
+	@BeforeAll
+	void generateData() {
+		dataGenerator.generate(CLIENTS, ORDERS);
+		// The busiest client: its filtered pages sort the most rows
+		hotClientId = jdbcTemplate.queryForObject(
+				"SELECT client_id FROM orders GROUP BY client_id ORDER BY COUNT(*) DESC LIMIT 1", Long.class);
+		hotClientCode = jdbcTemplate.queryForObject("SELECT code FROM clients WHERE id = ?", String.class, hotClientId);
+	}
+
+	@Test
+	void pageSortedByDateWalksTheDateIndex() {
+		Pageable pageable = PageRequest.of(50, 20, BY_DATE_DESC);
+		Plan plan = planOf(() -> orderRepository.findSummaries(null, pageable, () -> 0));
+
+		assertThat(plan.access("ORDERS")).isEqualTo("IDX_ORDERS_DATE");
+		assertThat(plan.indexSorted()).isTrue();
+		assertClientJoinedByPrimaryKey(plan);
+		assertFast(() -> orderRepository.findSummaries(null, pageable, () -> 0), Duration.ofMillis(10));
+	}
+
+	@Test
+	void pageSortedByPriceWalksThePriceIndex() {
+		Pageable pageable = PageRequest.of(50, 20, BY_PRICE_DESC);
+		Plan plan = planOf(() -> orderRepository.findSummaries(null, pageable, () -> 0));
+
+		assertThat(plan.access("ORDERS")).isEqualTo("IDX_ORDERS_PRICE");
+		assertThat(plan.indexSorted()).isTrue();
+		assertClientJoinedByPrimaryKey(plan);
+		assertFast(() -> orderRepository.findSummaries(null, pageable, () -> 0), Duration.ofMillis(10));
+	}
+
+	@Test
+	void unsortedPageStopsAfterItsRows() {
+		Pageable pageable = PageRequest.of(50, 20);
+		Plan plan = planOf(() -> orderRepository.findSummaries(null, pageable, () -> 0));
+
+		// No ORDER BY: the scan ends after offset + size rows, the latency bound keeps it honest
+		assertThat(plan.access("ORDERS")).isEqualTo("ORDERS.tableScan");
+		assertClientJoinedByPrimaryKey(plan);
+		assertFast(() -> orderRepository.findSummaries(null, pageable, () -> 0), Duration.ofMillis(10));
+	}
+
+	@Test
+	void clientPageAndCountSeekOnClientId() {
+		OrderFilter filter = new OrderFilter();
+		filter.setClientId(hotClientId);
+		Pageable pageable = PageRequest.of(2, 20, BY_DATE_DESC);
+		List<Plan> plans = plansOf(() -> orderRepository.findSummaries(filter, pageable));
+
+		// H2 cannot sort by an index behind an equality prefix, so the client's rows are
+		// sorted in memory: fine for one client, which the latency bound checks
+		assertThat(plans).hasSize(2).allSatisfy(plan -> assertThat(plan.condition("ORDERS")).isEqualTo("CLIENT_ID = ?1"));
+		assertClientJoinedByPrimaryKey(plans.get(0));
+		assertFast(() -> orderRepository.findSummaries(filter, pageable), Duration.ofMillis(25));
+	}
+
+	@Test
+	void statusPageAndCountSeekOnStatus() {
+		OrderFilter filter = new OrderFilter();
+		filter.setStatus("PENDING");
+		Pageable pageable = PageRequest.of(2, 20, BY_DATE_DESC);
+		List<Plan> plans = plansOf(() -> orderRepository.findSummaries(filter, pageable));
+
+		assertThat(plans).hasSize(2).allSatisfy(plan -> {
+			assertThat(plan.access("ORDERS")).isEqualTo("IDX_ORDERS_STATUS_DATE");
+			assertThat(plan.condition("ORDERS")).isEqualTo("STATUS = ?1");
+		});
+		assertClientJoinedByPrimaryKey(plans.get(0));
+		assertFast(() -> orderRepository.findSummaries(filter, pageable), Duration.ofMillis(50));
+	}
+
+	@Test
+	void keysetPageSeeksIntoTheDateIndex() {
+		OrderCursor cursor = new OrderCursor(LocalDate.now().minusDays(200), Long.MAX_VALUE);
+		Plan plan = planOf(() -> orderRepository.findPageAfter(null, cursor, 21));
+
+		assertThat(plan.access("ORDERS")).isEqualTo("IDX_ORDERS_DATE");
+		assertThat(plan.indexSorted()).isTrue();
+		assertClientJoinedByPrimaryKey(plan);
+		assertFast(() -> orderRepository.findPageAfter(null, cursor, 21), Duration.ofMillis(10));
+	}
+
+	@Test
+	void pagedFindAllWalksTheDateIndex() {
+		Pageable pageable = PageRequest.of(50, 20, BY_DATE_DESC);
+		List<Plan> plans = plansOf(() -> orderRepository.findAll(pageable));
+
+		assertThat(plans.get(0).access("ORDERS")).isEqualTo("IDX_ORDERS_DATE");
+		assertThat(plans.get(0).indexSorted()).isTrue();
+		assertFast(() -> orderRepository.findAll(pageable), Duration.ofMillis(50));
+	}
+
+	@Test
+	void orderDetailIsTwoPrimaryKeyLookups() {
+		long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+		Plan plan = planOf(() -> orderRepository.findWithClientById(id));
+
+		assertThat(plan.drivingTable()).isEqualTo("ORDERS");
+		assertThat(plan.condition("ORDERS")).isEqualTo("ID = ?1");
+		assertClientJoinedByPrimaryKey(plan);
+		assertFast(() -> orderRepository.findWithClientById(id), Duration.ofMillis(10));
+	}
+
+	@Test
+	void clientLookupsUseIndexes() {
+		assertThat(planOf(() -> clientRepository.findById(hotClientId)).condition("CLIENTS")).isEqualTo("ID = ?1");
+		assertThat(planOf(() -> clientRepository.findByCode(hotClientCode)).access("CLIENTS")).isEqualTo("IDX_CLIENTS_CODE");
+		assertThat(planOf(() -> clientRepository.existsByCode(hotClientCode)).access("CLIENTS")).isEqualTo("IDX_CLIENTS_CODE");
+		assertThat(planOf(() -> clientRepository.findExistingIds(List.of(1L, 2L, 3L))).condition("CLIENTS"))
+				.isEqualTo("ID IN(?1, ?2, ?3)");
+
+		assertFast(() -> clientRepository.findByCode(hotClientCode), Duration.ofMillis(10));
+		assertFast(() -> clientRepository.existsByCode(hotClientCode), Duration.ofMillis(10));
+	}
+
+	private static void assertClientJoinedByPrimaryKey(Plan plan) {
+		assertThat(plan.drivingTable()).isEqualTo("ORDERS");
+		assertThat(plan.access("CLIENTS")).startsWith("PRIMARY_KEY_");
+		assertThat(plan.condition("CLIENTS")).startsWith("ID = O1_0.CLIENT_ID");
+	}
+
+	// Median of repeated calls after a warm-up, so a single GC pause does not fail the build
+	private static void assertFast(Runnable query, Duration limit) {
+		for (int i = 0; i < 20; i++) {
+			query.run();
+		}
+		long[] nanos = new long[31];
+		for (int i = 0; i < nanos.length; i++) {
+			long start = System.nanoTime();
+			query.run();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		assertThat(Duration.ofNanos(nanos[nanos.length / 2])).isLessThan(limit);
+	}
+
+	private Plan planOf(Runnable query) {
+		List<Plan> plans = plansOf(query);
+		assertThat(plans).hasSize(1);
+		return plans.get(0);
+	}
+
+	private List<Plan> plansOf(Runnable query) {
+		statements.clear();
+		query.run();
+		return new ArrayList<>(statements).stream()
+				.map(sql -> new Plan(jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class)))
+				.toList();
+	}
+
+	private record Plan(String text) {
+
+		String drivingTable() {
+			return accesses().get(0)[0];
+		}
+
+		String access(String table) {
+			return find(table)[1];
+		}
+
+		String condition(String table) {
+			String condition = find(table)[2];
+			return condition == null ? null : condition.replaceAll("\\s+", " ");
+		}
+
+		boolean indexSorted() {
+			return text.contains("/* index sorted */");
+		}
+
+		private String[] find(String table) {
+			return accesses().stream()
+					.filter(access -> access[0].equals(table))
+					.findFirst()
+					.orElseThrow(() -> new AssertionError(table + " not in plan:\n" + text));
+		}
+
+		// table, index, index condition for each table in join order
+		private List<String[]> accesses() {
+			List<String[]> accesses = new ArrayList<>();
+			Matcher matcher = TABLE_ACCESS.matcher(text);
+			while (matcher.find()) {
+				accesses.add(new String[] {matcher.group(1), matcher.group(2), matcher.group(3)});
+			}
+			return accesses;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest
+class OrderCountServiceTests {
+
+	private static final int WRITERS = 4;
+	private static final int RECONCILES = 200;
+
+	@Autowired
+	private OrderCountService orderCountService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Test
+	void reconcileRacingWithWritesFindsNoDrift() throws Exception {
+		Client client = clientRepository.findAll().get(0);
+		orderCountService.reconcile();
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				writers.add(executor.submit(() -> {
+					while (running.get()) {
+						createAndDelete(client);
+					}
+				}));
+			}
+
+			// Each recount lands between some writer's commits; any double-counted delta shows up as drift in the next
+			List<Long> drift = new ArrayList<>();
+			for (int i = 0; i < RECONCILES; i++) {
+				drift.add(orderCountService.reconcile());
+			}
+			running.set(false);
+			for (Future<?> writer : writers) {
+				writer.get();
+			}
+
+			assertThat(drift).containsOnly(0L);
+			assertThat(orderCountService.reconcile()).isZero();
+			assertThat(orderCountService.countFor(new OrderFilter()).getAsLong()).isEqualTo(orderRepository.count());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void reconcileDoesNotWaitForAnOpenWriteTransaction() throws Exception {
+		Client client = clientRepository.findAll().get(0);
+		CountDownLatch published = new CountDownLatch(1);
+		CountDownLatch reconciled = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				Order saved = orderRepository.save(new Order("Count check", client, 1, BigDecimal.TEN, LocalDate.now()));
+				eventPublisher.publishEvent(OrderChangedEvent.created(saved));
+				published.countDown();
+				try {
+					reconciled.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				status.setRollbackOnly();
+			}));
+			published.await();
+
+			assertThat(assertTimeoutPreemptively(Duration.ofSeconds(10), () -> orderCountService.reconcile())).isZero();
+			reconciled.countDown();
+			writer.get();
+		} finally {
+			reconciled.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private void createAndDelete(Client client) {
+		Order order = transactionTemplate.execute(status -> {
+			Order saved = orderRepository.save(new Order("Count check", client, 1, BigDecimal.TEN, LocalDate.now()));
+			eventPublisher.publishEvent(OrderChangedEvent.created(saved));
+			return saved;
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			orderRepository.delete(order);
+			eventPublisher.publishEvent(OrderChangedEvent.deleted(order));
+		});
+	}
+}
@@ -0,0 +1,125 @@
+package dev.ivy.orders.service;
+
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest
+class OrderStatsServiceTests {
+
+	private static final int WRITERS = 4;
+	private static final int REBUILDS = 30;
+
+	@Autowired
+	private OrderStatsService orderStatsService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Test
+	void rebuildsRacingWithWritesMatchAQuietRebuild() throws Exception {
+		Client client = clientRepository.findAll().get(0);
+		AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				writers.add(executor.submit(() -> {
+					while (running.get()) {
+						createAndDelete(client);
+					}
+				}));
+			}
+			for (int i = 0; i < REBUILDS; i++) {
+				orderStatsService.rebuild();
+			}
+			running.set(false);
+			for (Future<?> writer : writers) {
+				writer.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		OrderStatsService.Snapshot incremental = orderStatsService.snapshot();
+		orderStatsService.rebuild();
+		assertThat(orderStatsService.snapshot()).isEqualTo(incremental);
+	}
+
+	@Test
+	void rebuildDoesNotWaitForAnOpenWriteTransaction() throws Exception {
+		Client client = clientRepository.findAll().get(0);
+		CountDownLatch published = new CountDownLatch(1);
+		CountDownLatch rebuilt = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				Order saved = orderRepository.save(newOrder(client));
+				eventPublisher.publishEvent(OrderChangedEvent.created(saved));
+				published.countDown();
+				try {
+					rebuilt.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				status.setRollbackOnly();
+			}));
+			published.await();
+
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> orderStatsService.rebuild());
+			rebuilt.countDown();
+			writer.get();
+		} finally {
+			rebuilt.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private void createAndDelete(Client client) {
+		Order order = transactionTemplate.execute(status -> {
+			Order saved = orderRepository.save(newOrder(client));
+			eventPublisher.publishEvent(OrderChangedEvent.created(saved));
+			return saved;
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			orderRepository.delete(order);
+			eventPublisher.publishEvent(OrderChangedEvent.deleted(order));
+		});
+	}
+
+	private static Order newOrder(Client client) {
+		Order order = new Order("Stats check", client, 3, new BigDecimal("4.25"), LocalDate.now());
+		order.setStatus("PENDING");
+		order.setPaymentMethod("CARD");
+		return order;
+	}
+}
@@ -0,0 +1,62 @@
+package dev.ivy.orders.jmh;
+
+import dev.ivy.orders.entity.Client;
+import dev.ivy.orders.repository.ClientRepository;
+import dev.ivy.orders.service.ClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client lookup by code, straight from the repository and through {@link ClientService}'s
+ * Caffeine cache (warm after the first pass over the codes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ClientLookupBenchmark {
+
+    private ClientRepository clientRepository;
+
+    private ClientService clientService;
+
+    private String[] codes;
+
+    @Setup
+    public void setUp(OrdersApp app) {
+        clientRepository = app.bean(ClientRepository.class);
+        clientService = app.bean(ClientService.class);
+        codes = new String[app.clients];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = OrdersApp.clientCode(i);
+        }
+    }
+
+    @Benchmark
+    public Optional<Client> repositoryFindByCode() {
+        return clientRepository.findByCode(randomCode());
+    }
+
+    @Benchmark
+    public Optional<Client> cachedGetClientByCode() {
+        return clientService.getClientByCode(randomCode());
+    }
+
+    private String randomCode() {
+        return codes[ThreadLocalRandom.current().nextInt(codes.length)];
+    }
+}
@@ -0,0 +1,72 @@
+package dev.ivy.orders.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result with an earlier one, benchmark by benchmark (parameters
+ * included), and exits with status 1 when any score is worse by more than the threshold.
+ * <p>
+ * Usage: {@code CompareResults <current.json> <threshold-percent> [baseline.json]}; without
+ * a baseline there is nothing to compare and it exits 0.
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args[2].isBlank()) {
+            System.out.println("No baseline given (-Djmh.baseline=...), skipping comparison");
+            return;
+        }
+        double threshold = Double.parseDouble(args[1]);
+        Map<String, JsonNode> current = read(new File(args[0]));
+        Map<String, JsonNode> baseline = read(new File(args[2]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("  new       %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            double now = metric.get("score").asDouble();
+            double then = before.get("primaryMetric").get("score").asDouble();
+            // Throughput is better when higher; every other mode reports time, better when lower
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+            double change = (now - then) / then * 100;
+            double worse = higherIsBetter ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("  %-9s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                    entry.getKey(), then, now, metric.get("scoreUnit").asText(), change);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark name plus its parameters, e.g. "...OrderQueryBenchmark.findAll{page=0, orders=1000000}"
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            JsonNode params = result.get("params");
+            Map<String, String> values = new LinkedHashMap<>();
+            if (params != null) {
+                params.properties().forEach(param -> values.put(param.getKey(), param.getValue().asText()));
+            }
+            results.put(result.get("benchmark").asText() + (values.isEmpty() ? "" : values.toString()), result);
+        }
+        return results;
+    }
+}
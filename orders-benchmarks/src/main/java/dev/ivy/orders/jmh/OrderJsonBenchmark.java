@@ -0,0 +1,59 @@
+package dev.ivy.orders.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderPageResponse;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one GET /api/orders response body with the application's {@link ObjectMapper},
+ * for a page of real rows read once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderJsonBenchmark {
+
+    @Param({"20", "100"})
+    public int size;
+
+    private ObjectWriter writer;
+
+    private OrderPageResponse response;
+
+    @Setup
+    public void setUp(OrdersApp app) {
+        writer = app.bean(ObjectMapper.class).writerFor(OrderPageResponse.class);
+        Page<OrderSummary> page = app.bean(OrderRepository.class).findSummaries(new OrderFilter(),
+                PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "orderDate", "id")));
+        response = new OrderPageResponse(true, "Orders retrieved successfully", page.getContent(),
+                page.getTotalElements(), page.getTotalPages(), 0, size, page.hasNext(), false);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
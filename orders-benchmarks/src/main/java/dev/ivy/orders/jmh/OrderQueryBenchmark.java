@@ -0,0 +1,73 @@
+package dev.ivy.orders.jmh;
+
+import dev.ivy.orders.dto.OrderFilter;
+import dev.ivy.orders.dto.OrderSummary;
+import dev.ivy.orders.entity.Order;
+import dev.ivy.orders.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order list reads over the seeded table: the entity page {@code findAll(pageable)}, and the
+ * projection query behind GET /api/orders, unfiltered and by client (there is no derived
+ * {@code findByClientId}; the client filter of {@code findSummaries} is that path). Every
+ * call includes its count query, as the API does for a full page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // First page versus offset 800, still inside each client's rows at the default seed
+    @Param({"0", "40"})
+    public int page;
+
+    private OrderRepository orderRepository;
+
+    private Pageable pageable;
+
+    @Setup
+    public void setUp(OrdersApp app) {
+        orderRepository = app.bean(OrderRepository.class);
+        // The UI's default ordering: newest first, id as tiebreaker
+        pageable = PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "orderDate", "id"));
+    }
+
+    @Benchmark
+    public Page<Order> findAll() {
+        return orderRepository.findAll(pageable);
+    }
+
+    @Benchmark
+    public Page<OrderSummary> findSummaries() {
+        return orderRepository.findSummaries(new OrderFilter(), pageable);
+    }
+
+    @Benchmark
+    public Page<OrderSummary> findSummariesByClient(OrdersApp app) {
+        OrderFilter filter = new OrderFilter();
+        filter.setClientId(app.clientId(ThreadLocalRandom.current().nextInt(app.clients)));
+        return orderRepository.findSummaries(filter, pageable);
+    }
+}
@@ -0,0 +1,89 @@
+package dev.ivy.orders.jmh;
+
+import dev.ivy.orders.OrdersAppApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The orders application without a web server, over its in-memory H2 database seeded with
+ * {@code clients} clients and {@code orders} orders on top of the {@code DataSeeder} rows.
+ * Started once per fork and shared by every benchmark thread.
+ */
+@State(Scope.Benchmark)
+public class OrdersApp {
+
+    // Rows are generated in slices so no single statement holds a million-row transaction
+    private static final int SLICE = 100_000;
+
+    @Param("1000000")
+    public int orders;
+
+    @Param("1000")
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+
+    // Id of the first generated client; generated codes are "BENCH" + zero-padded 1..clients
+    private long firstClientId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(OrdersAppApplication.class).profiles("dev").run(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long clientId(int index) {
+        return firstClientId + index;
+    }
+
+    public static String clientCode(int index) {
+        return "BENCH" + String.format("%06d", index + 1);
+    }
+
+    // Plain INSERT ... SELECT over SYSTEM_RANGE, with ids above the sequence-assigned seed rows
+    private void seed(JdbcTemplate jdbc) {
+        long clientBase = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000 FROM clients", Long.class);
+        firstClientId = clientBase + 1;
+        jdbc.update("INSERT INTO clients (id, name, code, city) " +
+                "SELECT ? + X, 'Bench Client ' || X, 'BENCH' || LPAD(CAST(X AS VARCHAR), 6, '0'), " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'New York' WHEN 1 THEN 'Chicago' WHEN 2 THEN 'Seattle' ELSE 'Austin' END " +
+                "FROM SYSTEM_RANGE(1, ?)", clientBase, clients);
+
+        long orderBase = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000 FROM orders", Long.class);
+        for (int from = 1; from <= orders; from += SLICE) {
+            int to = Math.min(orders, from + SLICE - 1);
+            jdbc.update("INSERT INTO orders (id, product_name, client_id, quantity, price, order_date, type, " +
+                    "payment_method, expedition, status, created_at) " +
+                    "SELECT ? + X, 'Product ' || MOD(X, 500), ? + 1 + MOD(X * 7, ?), 1 + MOD(X, 10), " +
+                    "CAST(MOD(X * 37, 500000) AS DECIMAL(10, 2)) / 100, DATEADD('DAY', -MOD(X * 13, 1095), CURRENT_DATE), " +
+                    "1 + MOD(X, 3), " +
+                    "CASE MOD(X, 3) WHEN 0 THEN 'CARD' WHEN 1 THEN 'BANK_TRANSFER' ELSE 'CASH' END, " +
+                    "CASE MOD(X, 5) WHEN 0 THEN 'EXPRESS' WHEN 1 THEN 'PRIORITY' ELSE 'STANDARD' END, " +
+                    "CASE MOD(X, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'IN_PROGRESS' ELSE 'COMPLETED' END, " +
+                    "CURRENT_TIMESTAMP " +
+                    "FROM SYSTEM_RANGE(?, ?)", orderBase, clientBase, clients, from, to);
+        }
+        // Refresh H2's selectivity statistics so index choice reflects the seeded distribution
+        jdbc.execute("ANALYZE");
+    }
+}
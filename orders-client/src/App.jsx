@@ -17,8 +17,8 @@ const App = () => {
     const checkAuth = async () => {
       try {
         const token = localStorage.getItem('authToken');
-        if (token === 'authenticated') {
-          // Simple check - if token exists and is 'authenticated', user is logged in
+        if (token) {
+          // The token is verified by the API on each request; a 401 clears it
           setIsAuthenticated(true);
         } else {
           setIsAuthenticated(false);
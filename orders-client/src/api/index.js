@@ -9,9 +9,46 @@ const api = axios.create({
   },
 });
 
+// Tokens are short-lived and carry the user's role; renew them shortly before they expire
+const REFRESH_BEFORE_MS = 5 * 60 * 1000;
+let refreshing = null;
+
+export const storeToken = (data) => {
+  localStorage.setItem('authToken', data.token);
+  localStorage.setItem('authTokenExpiresAt', data.expiresAt);
+};
+
+const refreshTokenIfExpiring = () => {
+  const token = localStorage.getItem('authToken');
+  const expiresAt = Date.parse(localStorage.getItem('authTokenExpiresAt'));
+  if (!token || !expiresAt || expiresAt - Date.now() > REFRESH_BEFORE_MS) {
+    return Promise.resolve();
+  }
+  if (!refreshing) {
+    // Plain axios: this request must not go through the interceptors below
+    refreshing = axios.post(`${API_BASE_URL}/auth/refresh`, null, {
+      headers: { Authorization: `Bearer ${token}` },
+    })
+      .then(({ data }) => {
+        storeToken(data);
+        // The refreshed token may carry a new role
+        const user = JSON.parse(localStorage.getItem('user') || 'null');
+        if (user) {
+          localStorage.setItem('user', JSON.stringify({ ...user, role: data.user.role }));
+        }
+      })
+      .catch(() => {})
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
 // Request interceptor to add auth token
 api.interceptors.request.use(
-  (config) => {
+  async (config) => {
+    await refreshTokenIfExpiring();
     const token = localStorage.getItem('authToken');
     if (token) {
       config.headers.Authorization = `Bearer ${token}`;
@@ -29,6 +66,7 @@ api.interceptors.response.use(
   (error) => {
     if (error.response?.status === 401) {
       localStorage.removeItem('authToken');
+      localStorage.removeItem('authTokenExpiresAt');
       localStorage.removeItem('user');
       window.location.href = '/login';
     }
@@ -41,6 +79,7 @@ export const authAPI = {
   login: (credentials) => api.post('/auth/login', credentials),
   logout: () => {
     localStorage.removeItem('authToken');
+    localStorage.removeItem('authTokenExpiresAt');
     localStorage.removeItem('user');
     return api.post('/auth/logout');
   },
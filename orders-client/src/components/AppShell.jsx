@@ -67,6 +67,7 @@ const AppShell = ({ children }) => {
     } finally {
       // Always clear local storage and redirect
       localStorage.removeItem('authToken');
+      localStorage.removeItem('authTokenExpiresAt');
       localStorage.removeItem('user');
       window.location.href = '/login';
     }
@@ -12,7 +12,7 @@ import {
   Container,
   Alert,
 } from '@mui/material';
-import { authAPI } from '../api';
+import { authAPI, storeToken } from '../api';
 import engineImg from '../assets/react.svg';
 
 const Login = () => {
@@ -43,7 +43,7 @@ const Login = () => {
       });
       if (response.data.success) {
         const user = response.data.user;
-        localStorage.setItem('authToken', 'authenticated');
+        storeToken(response.data);
         localStorage.setItem('user', JSON.stringify({
           id: user.id,
           name: user.username,
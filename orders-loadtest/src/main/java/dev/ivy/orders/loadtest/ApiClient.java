@@ -0,0 +1,67 @@
+package dev.ivy.orders.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * The calls {@code orders-client/src/api/index.js} makes, over one shared HTTP client:
+ * JSON bodies, the bearer token once logged in, and every call timed into the report
+ * under its endpoint name.
+ */
+public class ApiClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LatencyReport report;
+
+    public record Response(int status, JsonNode body) {
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    public ApiClient(HttpClient http, String baseUrl, LatencyReport report) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.report = report;
+    }
+
+    /**
+     * @param token      bearer token, or null before login
+     * @param intendedAt nanoTime the request was due to be sent: latency counts from there, so
+     *                   time spent waiting behind a slow server is not left out
+     */
+    public Response call(String endpoint, String method, String path, Object body, String token, long intendedAt) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            request.method(method, body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            report.record(endpoint, System.nanoTime() - intendedAt, response.statusCode() < 400);
+            byte[] bytes = response.body();
+            return new Response(response.statusCode(), bytes.length == 0 ? null : JSON.readTree(bytes));
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - intendedAt, false);
+            return new Response(0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+    }
+}
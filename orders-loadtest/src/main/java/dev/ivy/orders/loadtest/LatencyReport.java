@@ -0,0 +1,126 @@
+package dev.ivy.orders.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microseconds, up to a minute, three significant digits)
+ * and error counts, and the JSON report they are summarized into.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Recorder> recorders = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public record Endpoint(String endpoint, long count, long errors, double p50, double p90, double p99,
+                           double p999, double max, double mean) {
+    }
+
+    // Latencies in milliseconds; throughput is completed requests per second over the whole run
+    public record Summary(double rate, String arrivals, double seconds, double throughput, List<Endpoint> endpoints) {
+    }
+
+    public void record(String endpoint, long nanos, boolean ok) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_MICROS, 3))
+                .recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (!ok) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    // Drops everything recorded so far, e.g. at the end of the warmup
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.clear();
+    }
+
+    public Summary summarize(double rate, String arrivals, double seconds) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            LongAdder failed = errors.get(entry.getKey());
+            endpoints.add(new Endpoint(entry.getKey(), histogram.getTotalCount(), failed == null ? 0 : failed.sum(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()), histogram.getMean() / 1000));
+            total += histogram.getTotalCount();
+        }
+        return new Summary(rate, arrivals, seconds, total / seconds, endpoints);
+    }
+
+    public static void print(Summary summary) {
+        System.out.printf("%-26s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint e : summary.endpoints()) {
+            System.out.printf("%-26s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    e.endpoint(), e.count(), e.errors(), e.p50(), e.p90(), e.p99(), e.p999(), e.max());
+        }
+        System.out.printf("%.1f sessions/s (%s) for %.0f s: %.1f requests/s%n",
+                summary.rate(), summary.arrivals(), summary.seconds(), summary.throughput());
+    }
+
+    public static void write(Summary summary, File file) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        JSON.writeValue(file, summary);
+    }
+
+    public static Summary read(File file) throws IOException {
+        return JSON.readValue(file, Summary.class);
+    }
+
+    /**
+     * Prints each endpoint's p50 and p99 next to the baseline's and returns how many are
+     * slower by more than {@code thresholdPercent}, or have errors where the baseline had none.
+     */
+    public static int compare(Summary current, Summary baseline, double thresholdPercent) {
+        if (current.rate() != baseline.rate()) {
+            System.out.printf("Note: baseline ran at %.1f sessions/s, this run at %.1f%n", baseline.rate(), current.rate());
+        }
+        int regressions = 0;
+        for (Endpoint now : current.endpoints()) {
+            Endpoint then = baseline.endpoints().stream()
+                    .filter(e -> e.endpoint().equals(now.endpoint()))
+                    .findFirst().orElse(null);
+            if (then == null) {
+                System.out.printf("  new       %s%n", now.endpoint());
+                continue;
+            }
+            boolean regressed = slower(now.p50(), then.p50(), thresholdPercent)
+                    || slower(now.p99(), then.p99(), thresholdPercent)
+                    || (now.errors() > 0 && then.errors() == 0);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("  %-9s %-26s p50 %7.1f -> %7.1f ms   p99 %7.1f -> %7.1f ms   errors %d -> %d%n",
+                    regressed ? "REGRESSED" : "ok", now.endpoint(), then.p50(), now.p50(), then.p99(), now.p99(),
+                    then.errors(), now.errors());
+        }
+        return regressions;
+    }
+
+    // Sub-millisecond differences are noise at these resolutions
+    private static boolean slower(double now, double then, double thresholdPercent) {
+        return now - then > 1.0 && now > then * (1 + thresholdPercent / 100);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
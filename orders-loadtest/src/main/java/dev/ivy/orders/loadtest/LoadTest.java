@@ -0,0 +1,130 @@
+package dev.ivy.orders.loadtest;
+
+import dev.ivy.orders.OrdersAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test: {@link UiSession}s arrive at {@code --rate} per second whether or
+ * not earlier ones have finished, as real users do, so an overloaded server shows growing
+ * latency instead of a politely slowed-down client. Without {@code --url} the application
+ * is started in process on its default H2 configuration and filled by the data generator.
+ * <p>
+ * Options ({@code --name=value}): url, rate, arrivals (poisson|uniform), warmup, duration,
+ * write-share, clients, orders, result, baseline, threshold. Exits with status 1 when an
+ * endpoint regressed against the baseline.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "10"));
+        boolean poisson = !"uniform".equals(options.getOrDefault("arrivals", "poisson"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+        double writeShare = Double.parseDouble(options.getOrDefault("write-share", "0.2"));
+        String url = options.getOrDefault("url", "");
+
+        ConfigurableApplicationContext app = null;
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        int regressions = 0;
+        try {
+            if (url.isBlank()) {
+                app = new SpringApplicationBuilder(OrdersAppApplication.class).profiles("dev").run(
+                        "--server.port=0", "--spring.main.banner-mode=off",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+                url = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+                generate(new ApiClient(http, url, new LatencyReport()),
+                        options.getOrDefault("clients", "200"), options.getOrDefault("orders", "100000"));
+            }
+
+            LatencyReport report = new LatencyReport();
+            ApiClient api = new ApiClient(http, url, report);
+            System.out.printf("Warming up %s for %s at %.1f sessions/s%n", url, warmup, rate);
+            arrive(api, rate, poisson, warmup, writeShare);
+            report.reset();
+
+            System.out.printf("Measuring for %s%n", duration);
+            long start = System.nanoTime();
+            arrive(api, rate, poisson, duration, writeShare);
+            LatencyReport.Summary summary = report.summarize(rate, poisson ? "poisson" : "uniform",
+                    (System.nanoTime() - start) / 1e9);
+            LatencyReport.print(summary);
+
+            File result = new File(options.getOrDefault("result", "target/loadtest.json"));
+            LatencyReport.write(summary, result);
+            System.out.println("Report written to " + result);
+
+            File baseline = new File(options.getOrDefault("baseline", "baseline.json"));
+            if (baseline.isFile()) {
+                double threshold = Double.parseDouble(options.getOrDefault("threshold", "20"));
+                System.out.println("Against " + baseline + ":");
+                regressions = LatencyReport.compare(summary, LatencyReport.read(baseline), threshold);
+            } else {
+                System.out.println("No baseline at " + baseline + "; copy a report there to store one");
+            }
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " endpoint(s) regressed");
+            System.exit(1);
+        }
+    }
+
+    // Starts sessions on schedule for the given duration, then waits for the last ones to finish
+    private static void arrive(ApiClient api, double rate, boolean poisson, Duration duration, double writeShare) {
+        SplittableRandom random = new SplittableRandom();
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                sessions.submit(new UiSession(api, next, writeShare));
+                double gapSeconds = poisson ? -Math.log(1 - random.nextDouble()) / rate : 1 / rate;
+                next += (long) (gapSeconds * 1e9);
+            }
+        }
+    }
+
+    // Replaces the in-process app's sample data with generated clients and orders
+    private static void generate(ApiClient api, String clients, String orders) {
+        ApiClient.Response login = api.call("login", "POST", "/api/auth/login",
+                Map.of("username", "admin", "password", "password"), null, System.nanoTime());
+        String token = login.body().path("token").asText();
+        System.out.printf("Generating %s clients and %s orders%n", clients, orders);
+        ApiClient.Response generated = api.call("generate", "POST",
+                "/api/seeder/generate?clients=" + clients + "&orders=" + orders, null, token, System.nanoTime());
+        if (!generated.ok()) {
+            throw new IllegalStateException("Data generation failed: " + generated.body());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.ivy.orders.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One visit to the React client, as the pages issue their calls: the login page, the
+ * shell's /auth/me, then the orders page (clients for the filter, the first page, a
+ * client-filtered page, a later page) and, for a share of sessions, an order created,
+ * edited and deleted.
+ */
+public class UiSession implements Runnable {
+
+    // DataSeeder's accounts, all with password "password"
+    private static final List<String> USERS = List.of("admin", "manager", "user1", "user2");
+
+    private static final int PAGE_SIZE = 10;
+
+    private final ApiClient api;
+    private final long intendedStart;
+    private final double writeShare;
+
+    public UiSession(ApiClient api, long intendedStart, double writeShare) {
+        this.api = api;
+        this.intendedStart = intendedStart;
+        this.writeShare = writeShare;
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Measured from the scheduled arrival, so a backlog of sessions shows up as latency
+        ApiClient.Response login = api.call("POST /api/auth/login", "POST", "/api/auth/login",
+                Map.of("username", USERS.get(random.nextInt(USERS.size())), "password", "password"), null, intendedStart);
+        if (!login.ok()) {
+            return;
+        }
+        String token = login.body().path("token").asText();
+
+        api.call("GET /api/auth/me", "GET", "/api/auth/me", null, token, System.nanoTime());
+
+        ApiClient.Response clients = api.call("GET /api/clients", "GET", "/api/clients", null, token, System.nanoTime());
+        api.call("GET /api/orders", "GET", "/api/orders?page=0&size=" + PAGE_SIZE, null, token, System.nanoTime());
+
+        JsonNode clientList = clients.ok() ? clients.body().path("clients") : null;
+        long clientId = clientList == null || clientList.isEmpty()
+                ? -1
+                : clientList.get(random.nextInt(clientList.size())).path("id").asLong();
+        if (clientId > 0) {
+            api.call("GET /api/orders?clientId", "GET", "/api/orders?page=0&size=" + PAGE_SIZE + "&clientId=" + clientId,
+                    null, token, System.nanoTime());
+        }
+        api.call("GET /api/orders", "GET", "/api/orders?page=" + (1 + random.nextInt(5)) + "&size=" + PAGE_SIZE,
+                null, token, System.nanoTime());
+
+        if (clientId > 0 && random.nextDouble() < writeShare) {
+            editOrder(token, clientId, random);
+        }
+    }
+
+    private void editOrder(String token, long clientId, ThreadLocalRandom random) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("productName", "Load Test Order");
+        order.put("clientId", clientId);
+        order.put("quantity", 1 + random.nextInt(5));
+        order.put("price", BigDecimal.valueOf(1_000 + random.nextInt(100_000), 2));
+        order.put("orderDate", LocalDate.now().toString());
+        order.put("type", 1);
+        order.put("paymentMethod", "CARD");
+        order.put("expedition", "STANDARD");
+        order.put("status", "PENDING");
+
+        ApiClient.Response created = api.call("POST /api/orders", "POST", "/api/orders", order, token, System.nanoTime());
+        if (!created.ok()) {
+            return;
+        }
+        long id = created.body().path("order").path("id").asLong();
+        order.put("quantity", 1 + random.nextInt(5));
+        api.call("PUT /api/orders/{id}", "PUT", "/api/orders/" + id, order, token, System.nanoTime());
+        api.call("DELETE /api/orders/{id}", "DELETE", "/api/orders/" + id, null, token, System.nanoTime());
+    }
+}